@@ -0,0 +1,63 @@
+package com.capgeticket.evento.benchmark;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.model.Evento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos y deterministas para los benchmarks.
+ */
+final class DatosBenchmark {
+
+    static final String[] CIUDADES = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao", "Zaragoza", "Málaga", "Murcia"};
+    static final String[] GENEROS = {"Música", "Teatro", "Deportes", "Comedia", "Danza", "Familiar"};
+    private static final String[] TIPOS = {"Concierto", "Festival", "Gira", "Gala", "Espectáculo", "Musical"};
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Crea eventos nuevos, sin id, siempre con los mismos valores para el mismo número.
+     */
+    static List<Evento> eventos(int numero) {
+        Random random = new Random(42);
+        List<Evento> eventos = new ArrayList<>(numero);
+        for (int i = 0; i < numero; i++) {
+            Evento evento = new Evento();
+            evento.setNombre(TIPOS[random.nextInt(TIPOS.length)] + " " + i);
+            evento.setDescripcion("Descripción del evento " + i + " con algo más de texto para que tenga un tamaño realista");
+            evento.setFechaEvento(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(730)));
+            BigDecimal minimo = BigDecimal.valueOf(500 + random.nextInt(5000), 2);
+            evento.setPrecioMinimo(minimo);
+            evento.setPrecioMaximo(minimo.add(BigDecimal.valueOf(random.nextInt(20000), 2)));
+            evento.setPrecio(minimo);
+            evento.setLocalidad(CIUDADES[random.nextInt(CIUDADES.length)]);
+            evento.setNombreDelRecinto("Recinto " + random.nextInt(200));
+            evento.setGenero(GENEROS[random.nextInt(GENEROS.length)]);
+            evento.setMostrar(true);
+            eventos.add(evento);
+        }
+        return eventos;
+    }
+
+    /**
+     * Crea eventos con id y versión, como si se hubieran leído de la base de datos.
+     */
+    static List<Evento> eventosGuardados(int numero) {
+        List<Evento> eventos = eventos(numero);
+        for (int i = 0; i < numero; i++) {
+            eventos.get(i).setId(i + 1L);
+            eventos.get(i).setVersion(0L);
+        }
+        return eventos;
+    }
+
+    static List<EventoDto> dtos(int numero) {
+        return EventoDto.of(eventosGuardados(numero));
+    }
+}
@@ -0,0 +1,70 @@
+package com.capgeticket.evento.benchmark;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de serializar listas de EventoDto a JSON, como en las respuestas de la API,
+ * y a NDJSON, como en la exportación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int eventos;
+
+    private List<EventoDto> dtos;
+    private ObjectWriter listaWriter;
+    private ObjectWriter eventoWriter;
+
+    @Setup
+    public void setUp() {
+        // Misma configuración que el ObjectMapper de Spring Boot
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        dtos = DatosBenchmark.dtos(eventos);
+        listaWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, EventoDto.class));
+        eventoWriter = objectMapper.writerFor(EventoDto.class);
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return listaWriter.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] ndjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (EventoDto dto : dtos) {
+            out.write(eventoWriter.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.capgeticket.evento.benchmark;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.model.Evento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de las conversiones entre Evento y EventoDto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private Evento evento;
+    private List<Evento> eventos;
+    private EventoDto eventoDto;
+
+    @Setup
+    public void setUp() {
+        eventos = DatosBenchmark.eventosGuardados(100);
+        evento = eventos.getFirst();
+        eventoDto = EventoDto.of(evento);
+    }
+
+    @Benchmark
+    public EventoDto eventoDtoOfEvento() {
+        return EventoDto.of(evento);
+    }
+
+    @Benchmark
+    public List<EventoDto> eventoDtoOfLista100() {
+        return EventoDto.of(eventos);
+    }
+
+    @Benchmark
+    public Evento eventoOfNuevo() {
+        return Evento.of(eventoDto, false);
+    }
+
+    @Benchmark
+    public Evento eventoOfEdicion() {
+        return Evento.of(eventoDto, true);
+    }
+}
@@ -0,0 +1,114 @@
+package com.capgeticket.evento.benchmark;
+
+import com.capgeticket.evento.EventoApplication;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.index.NombreIndex;
+import com.capgeticket.evento.index.SugerenciaIndex;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Llamadas a EventoServiceImpl sobre H2 en memoria (configuración de src/test/resources)
+ * con 10.000 eventos, con y sin los índices en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicioBenchmark {
+
+    private static final int EVENTOS = 10_000;
+
+    @Param({"true", "false"})
+    private boolean indices;
+
+    private ConfigurableApplicationContext contexto;
+    private EventoService service;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        contexto = new SpringApplicationBuilder(EventoApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos para que tengan prioridad sobre application.properties
+                .run("--logging.level.root=WARN",
+                        "--evento.indice-nombre.enabled=" + indices,
+                        "--evento.indice-sugerencias.enabled=" + indices);
+        service = contexto.getBean(EventoService.class);
+
+        ids = contexto.getBean(EventoRepository.class).saveAll(DatosBenchmark.eventos(EVENTOS))
+                .stream().map(Evento::getId).toList();
+
+        if (indices) {
+            // Los índices se construyen al arrancar, antes de cargar los datos: se espera a que
+            // terminen y se reconstruyen con los eventos ya guardados
+            NombreIndex nombreIndex = contexto.getBean(NombreIndex.class);
+            SugerenciaIndex sugerenciaIndex = contexto.getBean(SugerenciaIndex.class);
+            while (!nombreIndex.isListo() || !sugerenciaIndex.isListo()) {
+                Thread.sleep(10);
+            }
+            nombreIndex.construir();
+            sugerenciaIndex.construir();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    private long idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @Benchmark
+    public EventoDto findById() {
+        return service.findById(idAleatorio());
+    }
+
+    @Benchmark
+    public List<EventoDto> findByName() {
+        return service.findByName(" 123");
+    }
+
+    @Benchmark
+    public List<EventoNombreDto> suggest() {
+        return service.suggest("gal", 10);
+    }
+
+    @Benchmark
+    public EventoPageDto findPage() {
+        return service.findPage(EventoPageDto.encodeCursor(idAleatorio()), 50);
+    }
+
+    @Benchmark
+    public Collection<EventoDto> findByGenre() {
+        return service.findByGenre("Danza");
+    }
+}
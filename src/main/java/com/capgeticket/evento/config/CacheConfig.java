@@ -0,0 +1,23 @@
+package com.capgeticket.evento.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activa la caché en memoria (Caffeine) de la aplicación.
+ * El tamaño, la caducidad y el registro de estadísticas se configuran en
+ * application.properties con spring.cache.caffeine.spec; las estadísticas
+ * se publican en actuator como métricas cache.gets, cache.puts y cache.evictions.
+ * spring.cache.type=caffeine evita que Spring use en su lugar el proveedor JCache, que
+ * está en el classpath para la caché de consultas de Hibernate.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Caché de EventoDto por id. Es la única caché de las búsquedas por id: la entidad
+     * Evento no está en la caché de segundo nivel de Hibernate.
+     */
+    public static final String EVENTOS_CACHE = "eventos";
+}
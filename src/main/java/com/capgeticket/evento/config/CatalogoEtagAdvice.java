@@ -0,0 +1,40 @@
+package com.capgeticket.evento.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Añade a la respuesta el ETag del catálogo que {@link CatalogoEtagInterceptor} leyó antes de
+ * la consulta, justo antes de escribir el cuerpo y solo si la respuesta es 2xx: los errores
+ * (400, 404) de los listados no llevan un ETag que permita cachearlos.
+ */
+@ControllerAdvice
+public class CatalogoEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(CatalogoEtagInterceptor.ETAG_ATRIBUTO) instanceof String etag
+                && HttpStatus.Series.resolve(servletResponse.getServletResponse().getStatus()) == HttpStatus.Series.SUCCESSFUL) {
+            response.getHeaders().set(HttpHeaders.ETAG, etag);
+        }
+        return body;
+    }
+}
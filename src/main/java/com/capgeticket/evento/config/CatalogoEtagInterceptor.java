@@ -0,0 +1,61 @@
+package com.capgeticket.evento.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Collections;
+
+/**
+ * GET condicional para los listados de eventos. Su contenido solo depende de la URL y de
+ * la versión del catálogo, así que esta sirve de ETag: si el cliente envía
+ * {@code If-None-Match} con la versión actual se responde 304 antes de llegar al
+ * controlador, sin consultar la base de datos ni serializar la lista. Si no, el ETag se
+ * guarda en la petición y {@link CatalogoEtagAdvice} lo añade solo a las respuestas 2xx.
+ */
+public class CatalogoEtagInterceptor implements HandlerInterceptor {
+
+    /** Atributo de la petición con el ETag del catálogo leído antes de llegar al controlador. */
+    public static final String ETAG_ATRIBUTO = CatalogoEtagInterceptor.class.getName() + ".etag";
+
+    private final VersionCatalogo versionCatalogo;
+
+    public CatalogoEtagInterceptor(VersionCatalogo versionCatalogo) {
+        this.versionCatalogo = versionCatalogo;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        // Se lee antes de la consulta: si el catálogo cambia mientras tanto la respuesta
+        // será más nueva que su ETag, nunca más antigua
+        String etag = versionCatalogo.etag();
+        if (coincide(request, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return false;
+        }
+        request.setAttribute(ETAG_ATRIBUTO, etag);
+        return true;
+    }
+
+    /**
+     * Comprobación de If-None-Match con comparación débil, como en un GET condicional. No se
+     * usa ServletWebRequest.checkNotModified porque escribe el ETag en la respuesta aunque
+     * esta acabe siendo un error.
+     */
+    private static boolean coincide(HttpServletRequest request, String etag) {
+        for (String cabecera : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String valor : cabecera.split(",")) {
+                String candidato = valor.trim();
+                if (candidato.equals("*") || candidato.equals(etag) || candidato.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,95 @@
+package com.capgeticket.evento.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita con un semáforo justo cuántas conexiones pueden estar en uso a la vez.
+ * <p>
+ * Con hilos virtuales el número de peticiones atendidas en paralelo ya no está acotado por
+ * el pool de hilos de Tomcat, así que miles de hilos pueden pedir conexión al mismo tiempo.
+ * El semáforo los pone en cola por orden de llegada delante del pool y, si no consiguen
+ * permiso en el tiempo configurado, fallan con {@link SQLTransientConnectionException}.
+ * El permiso se devuelve al cerrar la conexión.
+ */
+public class SemaphoreDataSource extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final Duration espera;
+
+    public SemaphoreDataSource(DataSource dataSource, int maxConexiones, Duration espera) {
+        super(dataSource);
+        this.permisos = new Semaphore(maxConexiones, true);
+        this.espera = espera;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return el número de conexiones que aún se pueden obtener sin esperar.
+     */
+    public int getPermisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No hay conexiones disponibles tras esperar " + espera.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido mientras se esperaba una conexión", e);
+        }
+    }
+
+    /**
+     * Envuelve la conexión para devolver el permiso la primera vez que se cierra.
+     */
+    private Connection envolver(Connection conexion) {
+        AtomicBoolean cerrada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean cierre = method.getName().equals("close") && method.getParameterCount() == 0;
+                    try {
+                        return method.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (cierre && cerrada.compareAndSet(false, true)) {
+                            permisos.release();
+                        }
+                    }
+                });
+    }
+}
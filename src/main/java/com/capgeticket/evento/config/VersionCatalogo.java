@@ -0,0 +1,34 @@
+package com.capgeticket.evento.config;
+
+import com.capgeticket.evento.repository.EventoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Versión del catálogo de eventos completo, que cambia con cada alta, edición o borrado.
+ * Sirve de ETag para los listados, que no tienen una versión de fila propia.
+ * <p>
+ * Es el contador de cambios de la tabla evento_cambio, que la base de datos incrementa con
+ * cada fila de evento insertada o modificada por el servicio. Todas las instancias leen el
+ * mismo valor, así que el ETag de una vale en las demás y después de reiniciarlas. Las
+ * inserciones hechas fuera del servicio lo incrementan también, por el valor por defecto de
+ * la columna cambio; un UPDATE de la tabla evento hecho fuera del servicio, por ejemplo en
+ * una migración de datos, debe asignar {@code cambio = siguiente_cambio()}.
+ * <p>
+ * El valor nuevo solo es visible cuando se confirma la transacción que lo incrementa, y se
+ * lee antes que los datos del listado: la respuesta puede ser más nueva que su ETag, pero
+ * nunca más antigua, así que no valida una copia desactualizada.
+ */
+@Component
+public class VersionCatalogo {
+
+    @Autowired
+    private EventoRepository repository;
+
+    /**
+     * @return el ETag fuerte (entre comillas) de la versión actual del catálogo.
+     */
+    public String etag() {
+        return "\"c" + repository.findCambioActual() + "\"";
+    }
+}
@@ -0,0 +1,41 @@
+package com.capgeticket.evento.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuración del modo de hilos virtuales, que se activa con {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * En este modo Spring Boot atiende cada petición de Tomcat y cada tarea asíncrona en un hilo
+ * virtual, de modo que las llamadas bloqueantes a EventoRepository no ocupan un hilo de
+ * plataforma mientras esperan a Postgres. Para que un pico de peticiones no se traduzca en
+ * miles de hilos compitiendo por el pool de Hikari, el DataSource se envuelve en un
+ * {@link SemaphoreDataSource} con tantos permisos como {@code evento.datasource.max-concurrent}
+ * (por defecto el tamaño máximo del pool).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor semaphoreDataSourcePostProcessor(
+            @Value("${evento.datasource.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConexiones,
+            @Value("${evento.datasource.acquire-timeout:30s}") Duration espera) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SemaphoreDataSource)) {
+                    return new SemaphoreDataSource(dataSource, maxConexiones, espera);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,18 +1,35 @@
 package com.capgeticket.evento.config;
 
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private VersionCatalogo versionCatalogo;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("*")
                 .allowedMethods("*")
                 .allowedHeaders("*")
-                .exposedHeaders("Access-Control-Allow-Private-Network","Access-Control-Allow-Origin");
+                .exposedHeaders("Access-Control-Allow-Private-Network","Access-Control-Allow-Origin", "ETag");
+    }
+
+    /**
+     * ETag de la versión del catálogo en los listados que dependen solo de él. Las
+     * sugerencias no se incluyen porque su orden depende también de la fecha actual.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CatalogoEtagInterceptor(versionCatalogo))
+                .addPathPatterns("/evento", "/evento/page", "/evento/nombre", "/evento/city", "/evento/genero",
+                        "/evento/search", "/evento/precio");
     }
-}
\ No newline at end of file
+}
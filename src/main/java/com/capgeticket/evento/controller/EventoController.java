@@ -1,16 +1,30 @@
 package com.capgeticket.evento.controller;
 
+import com.capgeticket.evento.dto.EventoBatchDto;
+import com.capgeticket.evento.dto.EventoBusquedaDto;
+import com.capgeticket.evento.dto.EventoCambiosDto;
 import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoFiltroDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoPageDto;
 import com.capgeticket.evento.exception.EventoNotFoundException;
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
 import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.stream.FeedCambios;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,7 +32,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,9 +48,18 @@ import java.util.List;
 public class EventoController {
     private static final Logger logger = LoggerFactory.getLogger(EventoController.class);
 
+    /** Tipo de contenido de la exportación: un objeto JSON por línea. */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private EventoService service;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FeedCambios feedCambios;
+
     /**
      * Obtener todos los eventos.
      *
@@ -42,7 +71,7 @@ public class EventoController {
             content = @Content(mediaType = "application/json"))
     @GetMapping
     public ResponseEntity<Collection<EventoDto>> findAll() {
-        logger.info("Iniciando búsqueda de todos los eventos");
+        logger.debug("Iniciando búsqueda de todos los eventos");
 
         Collection<EventoDto> eventos = service.findAll();
 
@@ -51,15 +80,240 @@ public class EventoController {
         return ResponseEntity.ok(eventos);
     }
 
+    /**
+     * Obtener los eventos visibles paginados por cursor.
+     *
+     * @param after cursor devuelto por la página anterior; se omite para pedir la primera página.
+     * @param limit número máximo de eventos a devolver.
+     * @return ResponseEntity con la página de eventos y el cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido o el límite está fuera de rango.
+     */
+    @Operation(summary = "Buscar eventos paginados por cursor")
+    @ApiResponse(responseCode = "200",
+            description = "Página de eventos",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EventoPageDto.class)) })
+    @GetMapping("/page")
+    public ResponseEntity<EventoPageDto> findPage(@RequestParam(value = "after", required = false) String after,
+                                                  @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        logger.info("Petición de página de eventos con límite {}", limit);
+        return ResponseEntity.ok(service.findPage(after, limit));
+    }
+
+    /**
+     * Exporta todos los eventos visibles en formato NDJSON (un evento por línea).
+     * Cada evento se escribe en la respuesta según se lee de la base de datos,
+     * por lo que la memoria usada no depende del tamaño del catálogo.
+     *
+     * @return ResponseEntity con el cuerpo que escribe los eventos en streaming.
+     */
+    @Operation(summary = "Exportar todos los eventos en NDJSON")
+    @ApiResponse(responseCode = "200",
+            description = "Eventos, uno por línea",
+            content = @Content(mediaType = APPLICATION_NDJSON_VALUE))
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        logger.info("Petición de exportación de eventos");
+
+        ObjectWriter writer = objectMapper.writerFor(EventoDto.class);
+        StreamingResponseBody body = out -> {
+            long total = service.exportAll(eventoDto -> {
+                try {
+                    out.write(writer.writeValueAsBytes(eventoDto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Exportación finalizada: {} eventos", total);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Sincronización incremental: devuelve solo los eventos modificados desde la última
+     * petición, y los ids de los que se han ocultado.
+     *
+     * @param since marca devuelta en {@code nextSince} por la petición anterior; se omite en la primera.
+     * @param limit número máximo de cambios a devolver.
+     * @return ResponseEntity con los cambios y la marca desde la que continuar.
+     * @throws IllegalArgumentException Si la marca no es válida o el límite está fuera de rango.
+     */
+    @Operation(summary = "Buscar los eventos modificados desde una marca")
+    @ApiResponse(responseCode = "200",
+            description = "Cambios de eventos",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EventoCambiosDto.class)) })
+    @GetMapping("/changes")
+    public ResponseEntity<EventoCambiosDto> findChanges(@RequestParam(value = "since", required = false) String since,
+                                                        @RequestParam(value = "limit", defaultValue = "500") int limit) {
+        logger.debug("Petición de cambios desde {}", since);
+        return ResponseEntity.ok(service.findChanges(since, limit));
+    }
+
+    /**
+     * Canal de cambios de eventos por Server-Sent Events. Cada mensaje lleva como nombre el
+     * tipo de cambio (CREADO, EDITADO o ELIMINADO) y como datos el id y el estado nuevo del evento.
+     * Un alta en lote llega en un solo mensaje {@value FeedCambios#CREADOS} con todos los eventos.
+     * Un mensaje {@value FeedCambios#RESET} indica que se han perdido cambios y hay que volver
+     * a cargar la lista completa.
+     *
+     * @param lastEventId el id del último mensaje recibido, que envía el navegador al reconectarse.
+     * @return la conexión SSE del cliente.
+     */
+    @Operation(summary = "Recibir los cambios de eventos en tiempo real")
+    @ApiResponse(responseCode = "200",
+            description = "Flujo de cambios",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.debug("Nueva suscripción al canal de cambios desde {}", lastEventId);
+        return feedCambios.suscribir(lastEventId, new SseEmitter());
+    }
+
+    /**
+     * Sugerencias de autocompletado para el buscador de eventos.
+     * Solo devuelve el id y el nombre, para que la respuesta sea mínima en cada pulsación.
+     *
+     * @param prefix el texto escrito por el usuario.
+     * @param limit  número máximo de sugerencias.
+     * @return ResponseEntity con las sugerencias, primero los eventos próximos.
+     * @throws IllegalArgumentException Si el prefijo está vacío o el límite está fuera de rango.
+     */
+    @Operation(summary = "Sugerir eventos por el comienzo de su nombre")
+    @ApiResponse(responseCode = "200",
+            description = "Sugerencias",
+            content = { @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = EventoNombreDto.class))) })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EventoNombreDto>> suggest(@RequestParam("prefix") String prefix,
+                                                         @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        logger.debug("Petición de sugerencias con prefijo {}", prefix);
+        return ResponseEntity.ok(service.suggest(prefix, limit));
+    }
+
+    /**
+     * Búsqueda facetada para las páginas de listado: una página de eventos que cumplen los
+     * filtros y, en la misma respuesta, el número de eventos por localidad, género y banda de
+     * precio, para no tener que calcularlos en el cliente a partir de listas completas.
+     *
+     * @param filtro localidades, géneros, rango de fechas y rango de precio; todos opcionales.
+     * @param after  cursor devuelto por la página anterior; se omite para pedir la primera página.
+     * @param limit  número máximo de eventos a devolver.
+     * @return ResponseEntity con la página de eventos, el cursor siguiente y las facetas.
+     * @throws IllegalArgumentException Si el cursor no es válido o algún parámetro está fuera de rango.
+     */
+    @Operation(summary = "Buscar eventos con filtros y recuentos por faceta")
+    @ApiResponse(responseCode = "200",
+            description = "Eventos y facetas",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EventoBusquedaDto.class)) })
+    @GetMapping("/search")
+    public ResponseEntity<EventoBusquedaDto> search(@ParameterObject EventoFiltroDto filtro,
+                                                    @RequestParam(value = "after", required = false) String after,
+                                                    @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        logger.debug("Petición de búsqueda facetada: {}", filtro);
+        return ResponseEntity.ok(service.search(filtro, after, limit));
+    }
+
+    /**
+     * Eventos visibles entre dos fechas, por ejemplo los de este fin de semana en una ciudad.
+     *
+     * @param from      primera fecha incluida (ISO, yyyy-MM-dd); por defecto hoy.
+     * @param to        última fecha incluida (ISO, yyyy-MM-dd); por defecto sin límite.
+     * @param localidad la ciudad; se omite para buscar en todas.
+     * @param limit     número máximo de eventos a devolver.
+     * @return ResponseEntity con los eventos ordenados por fecha.
+     * @throws IllegalArgumentException Si el rango está invertido o el límite está fuera de rango.
+     */
+    @Operation(summary = "Buscar eventos por rango de fechas")
+    @ApiResponse(responseCode = "200",
+            description = "Eventos en el rango, ordenados por fecha",
+            content = { @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = EventoDto.class))) })
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<EventoDto>> findUpcoming(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "localidad", required = false) String localidad,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        logger.debug("Petición de eventos entre {} y {}", from, to);
+        return ResponseEntity.ok(service.findUpcoming(from, to, localidad, limit));
+    }
+
+    /**
+     * Eventos visibles con alguna entrada entre dos precios, paginados por cursor.
+     *
+     * @param min   precio mínimo; se omite para no poner límite inferior.
+     * @param max   precio máximo; se omite para no poner límite superior.
+     * @param after cursor devuelto por la página anterior; se omite para pedir la primera página.
+     * @param limit número máximo de eventos a devolver.
+     * @return ResponseEntity con la página de eventos y el cursor de la página siguiente.
+     * @throws IllegalArgumentException Si el rango está invertido, el cursor no es válido o el límite está fuera de rango.
+     */
+    @Operation(summary = "Buscar eventos por rango de precios")
+    @ApiResponse(responseCode = "200",
+            description = "Página de eventos",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EventoPageDto.class)) })
+    @GetMapping("/precio")
+    public ResponseEntity<EventoPageDto> findByPrice(@RequestParam(value = "min", required = false) BigDecimal min,
+                                                     @RequestParam(value = "max", required = false) BigDecimal max,
+                                                     @RequestParam(value = "after", required = false) String after,
+                                                     @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        logger.debug("Petición de eventos con precios entre {} y {}", min, max);
+        return ResponseEntity.ok(service.findByPrice(min, max, after, limit));
+    }
+
+    /**
+     * Obtiene varios eventos por id en una sola petición, para no hacer una llamada por
+     * cada línea de un carrito o un pedido.
+     *
+     * @param ids los ids de los eventos a obtener.
+     * @return ResponseEntity con los eventos encontrados y los ids que no existen.
+     * @throws IllegalArgumentException Si la lista está vacía, contiene nulos o supera el máximo.
+     */
+    @Operation(summary = "Buscar varios Eventos por Id")
+    @ApiResponse(responseCode = "200",
+            description = "Eventos encontrados e ids inexistentes",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = EventoBatchDto.class)) })
+    @PostMapping("/batch")
+    public ResponseEntity<EventoBatchDto> findBatch(@RequestBody List<Long> ids) {
+        logger.debug("Recibida petición, iniciando findBatch");
+        return ResponseEntity.ok(service.findBatch(ids));
+    }
+
+    /**
+     * Busca un evento por su id. La respuesta lleva un ETag fuerte con la versión de la fila;
+     * si coincide con el If-None-Match de la petición se responde 304 sin serializar el evento.
+     *
+     * @param id el id del evento.
+     * @return ResponseEntity con el evento y su ETag.
+     * @throws EventoNotFoundException Si el evento no existe.
+     */
     @Operation(summary = "Buscar Evento por Id")
     @ApiResponse(responseCode = "200",
             description = "Evento",
             content = { @Content(mediaType = "application/json",
                     schema = @Schema(implementation = EventoDto.class)) })
+    @ApiResponse(responseCode = "304", description = "El evento no ha cambiado")
     @GetMapping("/{id}")
     public ResponseEntity<EventoDto> findById(@PathVariable("id") Long id) {
-        logger.info("Recibida petición, iniciando findById");
-        return ResponseEntity.status(HttpStatus.OK).body(service.findById(id));
+        logger.debug("Recibida petición, iniciando findById");
+        // El servicio responde desde la caché si el evento está en ella, sin consultar la base de datos
+        EventoDto evento = service.findById(id);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag(evento)).body(evento);
+    }
+
+    /**
+     * @return el ETag fuerte de un evento, formado por su id y su versión.
+     */
+    private static String etag(EventoDto evento) {
+        return "\"e" + evento.getId() + "-" + evento.getVersion() + "\"";
     }
 
     /**
@@ -77,12 +331,31 @@ public class EventoController {
     @PostMapping
     public ResponseEntity<EventoDto> add(@RequestBody EventoDto eventoDto) {
         if (eventoDto == null || eventoDto.getNombre() == null || eventoDto.getNombre().isEmpty()) {
-            throw new IllegalArgumentException("El evento no puede ser nulo o tener un nombre vacío");
+            throw new SolicitudIncorrectaException("El evento no puede ser nulo o tener un nombre vacío");
         }
         EventoDto savedEvento = service.add(eventoDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedEvento);
     }
 
+    /**
+     * Agrega varios eventos en una sola petición, para importaciones de promotores.
+     * Si algún evento no es válido no se agrega ninguno.
+     *
+     * @param eventos los eventos a agregar.
+     * @return ResponseEntity con los ids generados, en el mismo orden, y el estado HTTP 201.
+     * @throws IllegalArgumentException Si la lista está vacía, supera el máximo o algún evento no es válido.
+     */
+    @Operation(summary = "Añadir varios Eventos")
+    @ApiResponse(responseCode = "201",
+            description = "Ids de los eventos creados",
+            content = { @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = Long.class))) })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Long>> addAll(@RequestBody List<EventoDto> eventos) {
+        logger.debug("Recibida petición, iniciando addAll");
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.addAll(eventos));
+    }
+
     /**
      * Elimina un evento por su ID.
      *
@@ -98,20 +371,15 @@ public class EventoController {
     public ResponseEntity<Boolean> deleteById(@PathVariable Long id) {
         logger.info("Petición para eliminar el evento con ID: {}", id);
 
-        // Verificar si el evento existe
-        if (!service.existsById(id)) {
+        // El servicio indica con false que no había ningún evento con ese ID
+        boolean isDeleted = service.deleteById(id);
+
+        if (!isDeleted) {
             logger.warn("El evento con ID {} no existe. Lanzando EventoNotFoundException", id);
             throw new EventoNotFoundException(id);
         }
 
-        // Si existe, proceder a eliminar
-        boolean isDeleted = service.deleteById(id);
-
-        if (isDeleted) {
-            logger.info("El evento con ID {} fue eliminado con éxito", id);
-        } else {
-            logger.warn("El evento con ID {} no pudo ser eliminado", id);
-        }
+        logger.info("El evento con ID {} fue eliminado con éxito", id);
 
         // Devolver respuesta con estado OK y el resultado de la eliminación
         return new ResponseEntity<>(isDeleted, HttpStatus.OK);
@@ -135,7 +403,7 @@ public class EventoController {
     public ResponseEntity<Collection<EventoDto>> findByName(@RequestParam String name) {
         // Validar nombre
         if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre del evento no puede ser nulo o vacío");
+            throw new SolicitudIncorrectaException("El nombre del evento no puede ser nulo o vacío");
         }
 
         List<EventoDto> eventos = service.findByName(name);
@@ -143,7 +411,10 @@ public class EventoController {
     }
 
     /**
-     * Maneja la edición de los eventos
+     * Maneja la edición de los eventos.
+     * Si el evento incluye su versión, la edición se rechaza con 409 cuando otra petición
+     * lo ha modificado antes.
+     *
      * @param eventoDto los datos del evento que se va a modificar
      * @return los datos del evento que se acaba de editar
      */
@@ -154,17 +425,13 @@ public class EventoController {
                     schema = @Schema(implementation = EventoDto.class)) })
     @PutMapping
     public ResponseEntity<EventoDto> edit(@RequestBody EventoDto eventoDto) {
-        logger.info("Iniciando la edición del evento");
+        logger.debug("Iniciando la edición del evento");
         if (eventoDto == null || eventoDto.getNombre() == null || eventoDto.getNombre().isEmpty()) {
             logger.warn("El evento no puede ser nulo o vacio");
-            throw new IllegalArgumentException("El evento no puede ser nulo o tener un nombre vacío");
-        }
-
-        if (!service.existsById(eventoDto.getId())) {
-            logger.warn("El evento con ID {} no existe. Lanzando EventoNotFoundException", eventoDto.getId());
-            throw new EventoNotFoundException(eventoDto.getId());
+            throw new SolicitudIncorrectaException("El evento no puede ser nulo o tener un nombre vacío");
         }
 
+        // El servicio lanza EventoNotFoundException si el evento no existe
         EventoDto editedEvento = service.edit(eventoDto);
         return ResponseEntity.status(HttpStatus.OK).body(editedEvento);
 
@@ -190,7 +457,7 @@ public class EventoController {
         // Validar si la ciudad es null o vacía y lanzar IllegalArgumentException
         if (city == null || city.trim().isEmpty()) {
             logger.error("La ciudad proporcionada es nula o vacía. Lanzando IllegalArgumentException.");
-            throw new IllegalArgumentException("La ciudad no puede ser nula o vacía.");
+            throw new SolicitudIncorrectaException("La ciudad no puede ser nula o vacía.");
         }
 
         // Llamada al servicio para obtener los eventos
@@ -0,0 +1,24 @@
+package com.capgeticket.evento.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado de una búsqueda de varios eventos por id en una sola petición.
+ * Los ids que no existen se devuelven en {@code noEncontrados} en lugar de hacer
+ * fallar toda la búsqueda.
+ */
+@Data
+public class EventoBatchDto {
+
+    private List<EventoDto> eventos;
+    private List<Long> noEncontrados;
+
+    public static EventoBatchDto of(List<EventoDto> eventos, List<Long> noEncontrados) {
+        EventoBatchDto batch = new EventoBatchDto();
+        batch.setEventos(eventos);
+        batch.setNoEncontrados(noEncontrados);
+        return batch;
+    }
+}
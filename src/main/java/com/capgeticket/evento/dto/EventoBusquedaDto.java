@@ -0,0 +1,38 @@
+package com.capgeticket.evento.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la búsqueda facetada: una página de eventos y, para cada faceta, el número de
+ * eventos por valor. El recuento de una faceta aplica todos los filtros salvo el suyo, de modo
+ * que el cliente puede mostrar cuántos eventos obtendría al cambiar esa selección.
+ * <p>
+ * Igual que en {@link EventoPageDto}, el cursor solo debe reenviarse en el parámetro
+ * {@code after} junto a los mismos filtros, y si es nulo no hay más páginas.
+ */
+@Data
+public class EventoBusquedaDto {
+
+    private List<EventoDto> eventos;
+    private String nextCursor;
+    private int total;
+    private Map<String, Integer> localidades;
+    private Map<String, Integer> generos;
+    private Map<String, Integer> precios;
+
+    public static EventoBusquedaDto of(List<EventoDto> eventos, String nextCursor, int total,
+                                       Map<String, Integer> localidades, Map<String, Integer> generos,
+                                       Map<String, Integer> precios) {
+        EventoBusquedaDto busqueda = new EventoBusquedaDto();
+        busqueda.setEventos(eventos);
+        busqueda.setNextCursor(nextCursor);
+        busqueda.setTotal(total);
+        busqueda.setLocalidades(localidades);
+        busqueda.setGeneros(generos);
+        busqueda.setPrecios(precios);
+        return busqueda;
+    }
+}
@@ -0,0 +1,85 @@
+package com.capgeticket.evento.dto;
+
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Cambios en los eventos desde una marca, para la sincronización incremental.
+ * Los eventos visibles modificados van en {@code eventos} y los que se han ocultado en
+ * {@code eliminados}. La marca es opaca para el cliente: debe guardar {@code nextSince} y
+ * enviarlo en la siguiente petición; si {@code hasMore} es true hay más cambios pendientes.
+ */
+@Data
+public class EventoCambiosDto {
+
+    /** Distingue las marcas por número de cambio de las antiguas, que eran por fecha. */
+    private static final String PREFIJO = "c";
+
+    private List<EventoDto> eventos;
+    private List<Long> eliminados;
+    private String nextSince;
+    private boolean hasMore;
+
+    /**
+     * Posición en la secuencia de cambios: el último evento devuelto y el número de cambio
+     * que lo modificó.
+     *
+     * @param cambio el número de cambio del catálogo, asignado por la base de datos.
+     * @param id     el id del evento, que desempata los modificados en el mismo cambio.
+     */
+    public record Marca(long cambio, long id) {
+
+        /** Marca anterior a cualquier cambio, para la primera sincronización. */
+        public static final Marca INICIO = new Marca(0L, 0L);
+    }
+
+    public static EventoCambiosDto of(List<EventoDto> eventos, List<Long> eliminados, String nextSince, boolean hasMore) {
+        EventoCambiosDto cambios = new EventoCambiosDto();
+        cambios.setEventos(eventos);
+        cambios.setEliminados(eliminados);
+        cambios.setNextSince(nextSince);
+        cambios.setHasMore(hasMore);
+        return cambios;
+    }
+
+    /**
+     * Codifica una marca como texto opaco.
+     *
+     * @param marca la marca a codificar.
+     * @return la marca codificada en Base64 (URL safe).
+     */
+    public static String encodeSince(Marca marca) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO + marca.cambio() + ":" + marca.id()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica una marca generada por {@link #encodeSince(Marca)}.
+     *
+     * @param since la marca recibida del cliente.
+     * @return la marca decodificada.
+     * @throws IllegalArgumentException si la marca no es válida.
+     */
+    public static Marca decodeSince(String since) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.US_ASCII);
+            int separador = texto.indexOf(':');
+            if (!texto.startsWith(PREFIJO) || separador < 0) {
+                throw new SolicitudIncorrectaException("La marca since no es válida");
+            }
+            long cambio = Long.parseLong(texto.substring(PREFIJO.length(), separador));
+            long id = Long.parseLong(texto.substring(separador + 1));
+            if (cambio < 0 || id < 0) {
+                throw new SolicitudIncorrectaException("La marca since no es válida");
+            }
+            return new Marca(cambio, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // NumberFormatException también es IllegalArgumentException
+            throw new SolicitudIncorrectaException("La marca since no es válida");
+        }
+    }
+}
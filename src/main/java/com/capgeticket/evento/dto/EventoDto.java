@@ -1,7 +1,9 @@
 package com.capgeticket.evento.dto;
 
 import com.capgeticket.evento.model.Evento;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,6 +11,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Data
+@NoArgsConstructor
 public class EventoDto {
 
     private Long id;
@@ -22,6 +25,37 @@ public class EventoDto {
     private String genero;
     private Boolean mostrar;
     private BigDecimal precio;
+    private Long version;
+
+    /**
+     * Número de cambio del catálogo, de uso interno: ordena la sincronización incremental,
+     * cuyos clientes solo ven la marca opaca de {@link EventoCambiosDto}, y no se publica en JSON.
+     */
+    @JsonIgnore
+    private Long cambio;
+
+    /**
+     * Constructor usado por las consultas de proyección de EventoRepository,
+     * que crean el DTO directamente a partir de las columnas leídas.
+     */
+    public EventoDto(Long id, String nombre, String descripcion, LocalDate fechaEvento,
+                     BigDecimal precioMinimo, BigDecimal precioMaximo, String localidad,
+                     String nombreDelRecinto, String genero, Boolean mostrar, BigDecimal precio,
+                     Long version, Long cambio) {
+        this.id = id;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.fechaEvento = fechaEvento;
+        this.precioMinimo = precioMinimo;
+        this.precioMaximo = precioMaximo;
+        this.localidad = localidad;
+        this.nombreDelRecinto = nombreDelRecinto;
+        this.genero = genero;
+        this.mostrar = mostrar;
+        this.precio = precio;
+        this.version = version;
+        this.cambio = cambio;
+    }
 
     public static EventoDto of(Evento evento) {
         EventoDto eventoDto = new EventoDto();
@@ -36,6 +70,8 @@ public class EventoDto {
         eventoDto.setGenero(evento.getGenero());
         eventoDto.setMostrar(evento.getMostrar());
         eventoDto.setPrecio(evento.getPrecio());
+        eventoDto.setVersion(evento.getVersion());
+        eventoDto.setCambio(evento.getCambio());
         return eventoDto;
     }
 
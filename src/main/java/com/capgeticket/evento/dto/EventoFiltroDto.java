@@ -0,0 +1,30 @@
+package com.capgeticket.evento.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtros de la búsqueda facetada de eventos. Todos son opcionales y se combinan entre sí;
+ * si se indican varias localidades o varios géneros basta con que el evento tenga uno de ellos,
+ * sin distinguir mayúsculas ni tildes.
+ * Las fechas y los precios son límites inclusivos.
+ */
+@Data
+public class EventoFiltroDto {
+
+    private List<String> localidad;
+    private List<String> genero;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate desde;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hasta;
+
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+}
@@ -0,0 +1,18 @@
+package com.capgeticket.evento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vista mínima de un evento con solo su id y su nombre, usada por los índices
+ * en memoria y las búsquedas que no necesitan el evento completo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoNombreDto {
+
+    private Long id;
+    private String nombre;
+}
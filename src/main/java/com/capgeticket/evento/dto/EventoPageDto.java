@@ -0,0 +1,59 @@
+package com.capgeticket.evento.dto;
+
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Página de eventos obtenida mediante paginación por cursor.
+ * El cursor es opaco para el cliente: solo debe reenviarlo en el parámetro {@code after}
+ * para obtener la página siguiente. Si es nulo no hay más páginas.
+ */
+@Data
+public class EventoPageDto {
+
+    private List<EventoDto> eventos;
+    private String nextCursor;
+
+    public static EventoPageDto of(List<EventoDto> eventos, String nextCursor) {
+        EventoPageDto page = new EventoPageDto();
+        page.setEventos(eventos);
+        page.setNextCursor(nextCursor);
+        return page;
+    }
+
+    /**
+     * Codifica el id del último evento de una página como cursor opaco.
+     *
+     * @param id el id del último evento devuelto.
+     * @return el cursor codificado en Base64 (URL safe).
+     */
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encodeCursor(long)}.
+     *
+     * @param cursor el cursor recibido del cliente.
+     * @return el id a partir del cual continuar.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    public static long decodeCursor(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            long after = Long.parseLong(id);
+            if (after < 0) {
+                throw new SolicitudIncorrectaException("El cursor no es válido");
+            }
+            return after;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException también es IllegalArgumentException
+            throw new SolicitudIncorrectaException("El cursor no es válido");
+        }
+    }
+}
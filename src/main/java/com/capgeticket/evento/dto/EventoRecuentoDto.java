@@ -0,0 +1,18 @@
+package com.capgeticket.evento.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Número de eventos con un mismo valor de una faceta, calculado por la base de datos en la
+ * búsqueda facetada mientras el índice en memoria no está listo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoRecuentoDto {
+
+    private String valor;
+    private Long total;
+}
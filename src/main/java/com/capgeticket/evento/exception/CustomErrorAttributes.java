@@ -7,8 +7,6 @@ import org.springframework.web.context.request.WebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
 
@@ -17,24 +15,24 @@ public class CustomErrorAttributes extends DefaultErrorAttributes {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomErrorAttributes.class);
 
-    private static final DateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+    private static final String JDK = System.getProperty("java.version");
 
     @Override
     public Map<String, Object> getErrorAttributes(WebRequest webRequest, ErrorAttributeOptions options) {
-        logger.info("Personalizando los atributos de error: " + options);
+        logger.debug("Personalizando los atributos de error: {}", options);
 
         Map<String, Object> errorAttributes = super.getErrorAttributes(webRequest, options);
 
         Object timestamp = errorAttributes.get("timestamp");
-        if (timestamp == null) {
-            errorAttributes.put("timestamp", dateFormat.format(new Date()));
+        if (timestamp instanceof Date date) {
+            errorAttributes.put("timestamp", ErrorResponseBuilder.timestamp(date.getTime()));
         } else {
-            errorAttributes.put("timestamp", dateFormat.format((Date) timestamp));
+            errorAttributes.put("timestamp", ErrorResponseBuilder.timestamp());
         }
 
         errorAttributes.remove("trace");
 
-        errorAttributes.put("jdk", System.getProperty("java.version"));
+        errorAttributes.put("jdk", JDK);
         errorAttributes.put("info_adicional", "Que ficiste ahi ho, que estu nun furrula");
 
         return errorAttributes;
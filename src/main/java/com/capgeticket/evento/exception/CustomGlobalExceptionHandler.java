@@ -2,9 +2,9 @@ package com.capgeticket.evento.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -25,9 +25,6 @@ import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 @ControllerAdvice
@@ -37,16 +34,20 @@ public class CustomGlobalExceptionHandler {
 
     // Método centralizado para construir respuestas de error
     private ResponseEntity<Object> buildErrorResponse(Exception ex, HttpStatus status, String error, WebRequest request) {
-        logger.error("{}: {}", error, ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), status, error, request);
+    }
 
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", new SimpleDateFormat("dd/MM/yyyy HH:mm:ss").format(new Date()));
-        body.put("status", status.value());
-        body.put("error", error);
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
+    private ResponseEntity<Object> buildErrorResponse(String message, HttpStatus status, String error, WebRequest request) {
+        // Los errores del cliente son resultados esperados (evento inexistente, validación),
+        // no fallos del servicio: se registran en debug para no llenar el log con cada 404
+        if (status.is5xxServerError()) {
+            logger.error("{}: {}", error, message);
+        } else {
+            logger.debug("{}: {}", error, message);
+        }
 
-        return new ResponseEntity<>(body, new HttpHeaders(), status);
+        Map<String, Object> body = ErrorResponseBuilder.build(status, error, message, request.getDescription(false));
+        return new ResponseEntity<>(body, status);
     }
 
     // Manejo de la excepción EventoNotFoundException
@@ -63,6 +64,13 @@ public class CustomGlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, "Solicitud incorrecta", request);
     }
 
+    // Manejo de OptimisticLockingFailureException (versión del evento desactualizada)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        return buildErrorResponse(ex, HttpStatus.CONFLICT, "Conflicto de versión", request);
+    }
+
     // Manejo de HttpRequestMethodNotSupportedException
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
@@ -71,7 +79,7 @@ public class CustomGlobalExceptionHandler {
         if (ex.getSupportedHttpMethods() != null) {
             ex.getSupportedHttpMethods().forEach(m -> message.append(m).append(" "));
         }
-        return buildErrorResponse(new Exception(message.toString()), HttpStatus.METHOD_NOT_ALLOWED, "Método HTTP no permitido", request);
+        return buildErrorResponse(message.toString(), HttpStatus.METHOD_NOT_ALLOWED, "Método HTTP no permitido", request);
     }
 
     // Manejo de HttpMediaTypeNotSupportedException
@@ -80,7 +88,7 @@ public class CustomGlobalExceptionHandler {
     public ResponseEntity<Object> handleHttpMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex, WebRequest request) {
         StringBuilder message = new StringBuilder("Tipos soportados: ");
         ex.getSupportedMediaTypes().forEach(t -> message.append(t).append(" "));
-        return buildErrorResponse(new Exception(message.toString()), HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de medio no soportado", request);
+        return buildErrorResponse(message.toString(), HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de medio no soportado", request);
     }
 
     // Manejo de HttpMediaTypeNotAcceptableException
@@ -0,0 +1,75 @@
+package com.capgeticket.evento.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Construcción de los cuerpos de las respuestas de error, compartida por
+ * {@link CustomGlobalExceptionHandler} y {@link CustomErrorAttributes}.
+ * <p>
+ * La fecha se formatea con un DateTimeFormatter, que es inmutable y se puede compartir entre
+ * hilos. Como su precisión es de segundos, el texto se guarda y se reutiliza durante todo el
+ * segundo: en una ráfaga de errores solo se formatea una vez por segundo.
+ */
+public final class ErrorResponseBuilder {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    /** Último segundo formateado. Se sustituye entero, así que nunca se lee a medio actualizar. */
+    private static volatile Segundo ultimo = new Segundo(Long.MIN_VALUE, "");
+
+    private record Segundo(long epochSecond, String texto) {
+    }
+
+    private ErrorResponseBuilder() {
+    }
+
+    /**
+     * @return la fecha y hora actuales con el formato de las respuestas de error.
+     */
+    public static String timestamp() {
+        return timestamp(System.currentTimeMillis());
+    }
+
+    /**
+     * Formatea un instante con el formato de las respuestas de error.
+     *
+     * @param epochMilli el instante en milisegundos desde epoch.
+     * @return el instante formateado, reutilizado si cae en el mismo segundo que el anterior.
+     */
+    public static String timestamp(long epochMilli) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000);
+        Segundo segundo = ultimo;
+        if (segundo.epochSecond() != epochSecond) {
+            // Si dos hilos cambian de segundo a la vez ambos formatean, pero el resultado es el mismo
+            segundo = new Segundo(epochSecond, TIMESTAMP.format(Instant.ofEpochSecond(epochSecond)));
+            ultimo = segundo;
+        }
+        return segundo.texto();
+    }
+
+    /**
+     * Construye el cuerpo de una respuesta de error.
+     *
+     * @param status  el estado HTTP de la respuesta.
+     * @param error   la descripción del tipo de error.
+     * @param message el mensaje de la excepción.
+     * @param path    la petición que produjo el error.
+     * @return el cuerpo con los campos en el orden habitual.
+     */
+    public static Map<String, Object> build(HttpStatus status, String error, String message, String path) {
+        Map<String, Object> body = new LinkedHashMap<>(8);
+        body.put("timestamp", timestamp());
+        body.put("status", status.value());
+        body.put("error", error);
+        body.put("message", message);
+        body.put("path", path);
+        return body;
+    }
+}
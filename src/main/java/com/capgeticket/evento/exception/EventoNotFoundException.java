@@ -3,22 +3,36 @@ package com.capgeticket.evento.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * El evento o los eventos buscados no existen.
+ * <p>
+ * Es un resultado esperado de la API (se responde con 404), no un fallo, por lo que se crea
+ * sin traza de pila ni excepciones suprimidas: capturar la traza es la parte más cara de
+ * lanzar una excepción y CustomGlobalExceptionHandler nunca la usa. Al ser inmutables, las
+ * de mensaje fijo se crean una sola vez y se reutilizan.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class EventoNotFoundException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    /** Evento inexistente, con el mensaje por defecto. */
+    public static final EventoNotFoundException NO_EXISTE = new EventoNotFoundException();
+
+    /** Ningún evento coincide con el nombre buscado. */
+    public static final EventoNotFoundException SIN_COINCIDENCIAS_NOMBRE = new EventoNotFoundException("No existen eventos con ese nombre");
+
     public EventoNotFoundException() {
-        super("Epic Fail: No existe el evento");
+        this("Epic Fail: No existe el evento");
         action1();
     }
 
     public EventoNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EventoNotFoundException(Long id) {
-        super("Epic Fail: No existe el evento con ID " + id);
+        this("Epic Fail: No existe el evento con ID " + id);
     }
 
     public void action1() {
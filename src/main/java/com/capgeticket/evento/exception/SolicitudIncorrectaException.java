@@ -0,0 +1,22 @@
+package com.capgeticket.evento.exception;
+
+/**
+ * Los datos de la petición no son válidos (se responde con 400).
+ * <p>
+ * Extiende IllegalArgumentException para que la traten igual el código y los manejadores
+ * existentes, pero no captura la traza de pila: es un resultado esperado de la validación
+ * y CustomGlobalExceptionHandler nunca la usa.
+ */
+public class SolicitudIncorrectaException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SolicitudIncorrectaException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,50 @@
+package com.capgeticket.evento.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversión de precios a céntimos para los índices en memoria, que comparan y ordenan
+ * precios como long en lugar de BigDecimal. Los DTO y la base de datos siguen usando
+ * BigDecimal con dos decimales; la conversión se hace una vez al indexar cada evento y una
+ * vez por consulta para los límites del filtro.
+ */
+public final class Centimos {
+
+    /** Valor de los eventos sin precio; es menor que cualquier precio convertido. */
+    public static final long SIN_PRECIO = Long.MIN_VALUE;
+
+    private Centimos() {
+    }
+
+    /**
+     * Convierte un precio guardado a céntimos, redondeando como la columna NUMERIC(10, 2).
+     *
+     * @param precio el precio, puede ser nulo.
+     * @return el precio en céntimos, o {@link #SIN_PRECIO} si es nulo.
+     */
+    public static long de(BigDecimal precio) {
+        return de(precio, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Convierte un precio a céntimos con el redondeo indicado. Para los límites de un filtro
+     * inclusivo basta redondear el mínimo hacia arriba y el máximo hacia abajo para obtener el
+     * mismo resultado que comparando los decimales. Los valores fuera del rango de long se
+     * saturan.
+     *
+     * @param precio   el precio, puede ser nulo.
+     * @param redondeo el redondeo de las fracciones de céntimo.
+     * @return el precio en céntimos, o {@link #SIN_PRECIO} si es nulo.
+     */
+    public static long de(BigDecimal precio, RoundingMode redondeo) {
+        if (precio == null) {
+            return SIN_PRECIO;
+        }
+        BigDecimal centimos = precio.movePointRight(2).setScale(0, redondeo);
+        if (centimos.unscaledValue().bitLength() >= Long.SIZE) {
+            return centimos.signum() > 0 ? Long.MAX_VALUE : -Long.MAX_VALUE;
+        }
+        return centimos.longValue();
+    }
+}
@@ -0,0 +1,338 @@
+package com.capgeticket.evento.index;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoFiltroDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.util.Normalizador;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria para la búsqueda facetada de eventos visibles por localidad, género,
+ * fecha y precio.
+ * <p>
+ * Cada evento ocupa una posición densa, que se reutiliza al quitarlo. Las localidades y los
+ * géneros se codifican con un diccionario y cada valor tiene un {@link BitSet} con las
+ * posiciones de sus eventos, de modo que los filtros por valor son uniones e intersecciones
+ * de bits. Los rangos de fecha y de precio se resuelven recorriendo las posiciones ocupadas,
+ * con los precios en céntimos. Los recuentos de cada faceta se calculan en una sola pasada
+ * sobre las posiciones que cumplen el resto de filtros, usando el código guardado en cada
+ * posición. También responde la búsqueda por rango de precios de {@code GET /evento/precio}.
+ * <p>
+ * Se activa con la propiedad {@code evento.indice-facetas.enabled}.
+ */
+@Component
+public class FacetaIndex extends IndiceEventos<FacetaIndex.Estado> {
+
+    /** Límites en céntimos de las bandas de precio: [0, 20), [20, 50), [50, 100) y 100 o más. */
+    private static final long[] BANDAS = {2_000, 5_000, 10_000};
+
+    /** Nombres de las bandas de precio, en orden de precio. */
+    public static final List<String> NOMBRES_BANDAS = List.of("0-20", "20-50", "50-100", "100+");
+
+    /** Código de los eventos sin valor en una faceta; no aparecen en sus recuentos. */
+    private static final int SIN_VALOR = -1;
+
+    @Value("${evento.indice-facetas.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private EventoRepository repository;
+
+    /** Los precios se guardan en céntimos ({@link Centimos}) para compararlos sin crear objetos. */
+    record Entrada(long id, int localidad, int genero, int banda, LocalDate fecha, long precio,
+                   long precioMinimo, long precioMaximo) {
+    }
+
+    /**
+     * Resultado de una búsqueda en el índice.
+     *
+     * @param ids         los ids de la página, ordenados.
+     * @param hayMas      true si hay más eventos después de la página.
+     * @param total       el número de eventos que cumplen todos los filtros.
+     * @param localidades recuento por localidad, de mayor a menor.
+     * @param generos     recuento por género, de mayor a menor.
+     * @param precios     recuento por banda de precio, en orden de precio.
+     */
+    public record Resultado(List<Long> ids, boolean hayMas, int total, Map<String, Integer> localidades,
+                            Map<String, Integer> generos, Map<String, Integer> precios) {
+    }
+
+    /**
+     * Valores distintos de una faceta, con un código consecutivo por cada clave
+     * ({@link Normalizador#clave(String)}) y las posiciones de los eventos que la tienen. Las
+     * variantes de un mismo valor comparten código y se muestran con la primera grafía vista.
+     */
+    static class Diccionario {
+        final Map<String, Integer> codigos = new HashMap<>();
+        final List<String> valores = new ArrayList<>();
+        final List<BitSet> posiciones = new ArrayList<>();
+
+        int codificar(String valor) {
+            if (valor == null) {
+                return SIN_VALOR;
+            }
+            return codigos.computeIfAbsent(Normalizador.clave(valor), k -> {
+                valores.add(valor);
+                posiciones.add(new BitSet());
+                return valores.size() - 1;
+            });
+        }
+
+        /**
+         * @return las posiciones con alguno de los valores, o null si no se filtra por esta faceta.
+         */
+        BitSet unir(List<String> filtro) {
+            if (filtro == null || filtro.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (String valor : filtro) {
+                Integer codigo = codigos.get(Normalizador.clave(valor));
+                if (codigo != null) {
+                    union.or(posiciones.get(codigo));
+                }
+            }
+            return union;
+        }
+    }
+
+    static class Estado {
+        final List<Entrada> entradas = new ArrayList<>();
+        final Map<Long, Integer> posiciones = new HashMap<>();
+        final Deque<Integer> libres = new ArrayDeque<>();
+        final BitSet ocupadas = new BitSet();
+        final Diccionario localidades = new Diccionario();
+        final Diccionario generos = new Diccionario();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Estado cargar() {
+        Estado estado = new Estado();
+        try (Stream<EventoDto> eventos = repository.streamDtosMostrar()) {
+            eventos.forEach(e -> indexar(estado, e));
+        }
+        return estado;
+    }
+
+    /**
+     * Busca en el índice los eventos visibles que cumplen los filtros y calcula las facetas.
+     *
+     * @param filtro los filtros de la búsqueda.
+     * @param after  se devuelven solo los eventos con id mayor que este.
+     * @param limit  número máximo de ids de la página.
+     * @return la página de ids y los recuentos de cada faceta.
+     */
+    public Resultado buscar(EventoFiltroDto filtro, long after, int limit) {
+        return consultar(estado -> buscar(estado, filtro, after, limit));
+    }
+
+    /**
+     * Busca los eventos visibles cuyo rango de precios, de precioMinimo a precioMaximo, se
+     * solapa con el rango pedido: los que tienen alguna entrada a un precio entre min y max.
+     *
+     * @param min   precio mínimo en céntimos, incluido.
+     * @param max   precio máximo en céntimos, incluido.
+     * @param after se devuelven solo los eventos con id mayor que este.
+     * @param limit número máximo de ids de la página.
+     * @return hasta limit + 1 ids ordenados, para saber si hay una página siguiente.
+     */
+    public List<Long> buscarPorPrecio(long min, long max, long after, int limit) {
+        return consultar(estado -> pagina(estado, recorrer(estado, e -> e.precioMinimo() != Centimos.SIN_PRECIO
+                && e.precioMaximo() != Centimos.SIN_PRECIO
+                && e.precioMaximo() >= min && e.precioMinimo() <= max), after, limit));
+    }
+
+    @Override
+    protected void aplicar(Estado estado, EventoCambiadoEvent evento) {
+        Integer posicion = estado.posiciones.remove(evento.id());
+        if (posicion != null) {
+            Entrada anterior = estado.entradas.get(posicion);
+            estado.ocupadas.clear(posicion);
+            if (anterior.localidad() != SIN_VALOR) {
+                estado.localidades.posiciones.get(anterior.localidad()).clear(posicion);
+            }
+            if (anterior.genero() != SIN_VALOR) {
+                estado.generos.posiciones.get(anterior.genero()).clear(posicion);
+            }
+            estado.entradas.set(posicion, null);
+            estado.libres.push(posicion);
+        }
+        EventoDto dto = evento.evento();
+        if (evento.tipo() != EventoCambiadoEvent.Tipo.ELIMINADO && dto != null && Boolean.TRUE.equals(dto.getMostrar())) {
+            indexar(estado, dto);
+        }
+    }
+
+    private static void indexar(Estado estado, EventoDto evento) {
+        long precio = Centimos.de(evento.getPrecio());
+        Entrada entrada = new Entrada(evento.getId(),
+                estado.localidades.codificar(evento.getLocalidad()),
+                estado.generos.codificar(evento.getGenero()),
+                banda(precio), evento.getFechaEvento(), precio,
+                Centimos.de(evento.getPrecioMinimo()), Centimos.de(evento.getPrecioMaximo()));
+        int posicion;
+        if (estado.libres.isEmpty()) {
+            posicion = estado.entradas.size();
+            estado.entradas.add(entrada);
+        } else {
+            posicion = estado.libres.pop();
+            estado.entradas.set(posicion, entrada);
+        }
+        estado.posiciones.put(entrada.id(), posicion);
+        estado.ocupadas.set(posicion);
+        if (entrada.localidad() != SIN_VALOR) {
+            estado.localidades.posiciones.get(entrada.localidad()).set(posicion);
+        }
+        if (entrada.genero() != SIN_VALOR) {
+            estado.generos.posiciones.get(entrada.genero()).set(posicion);
+        }
+    }
+
+    private static Resultado buscar(Estado estado, EventoFiltroDto filtro, long after, int limit) {
+        BitSet localidades = estado.localidades.unir(filtro.getLocalidad());
+        BitSet generos = estado.generos.unir(filtro.getGenero());
+        BitSet fechas = filtro.getDesde() == null && filtro.getHasta() == null ? null
+                : recorrer(estado, e -> e.fecha() != null
+                && (filtro.getDesde() == null || !e.fecha().isBefore(filtro.getDesde()))
+                && (filtro.getHasta() == null || !e.fecha().isAfter(filtro.getHasta())));
+        // Redondeando el mínimo hacia arriba y el máximo hacia abajo se comparan céntimos exactos
+        long precioMin = filtro.getPrecioMin() == null ? -Long.MAX_VALUE : Centimos.de(filtro.getPrecioMin(), RoundingMode.CEILING);
+        long precioMax = filtro.getPrecioMax() == null ? Long.MAX_VALUE : Centimos.de(filtro.getPrecioMax(), RoundingMode.FLOOR);
+        BitSet precios = filtro.getPrecioMin() == null && filtro.getPrecioMax() == null ? null
+                : recorrer(estado, e -> e.precio() != Centimos.SIN_PRECIO && e.precio() >= precioMin && e.precio() <= precioMax);
+
+        BitSet coincidencias = interseccion(estado.ocupadas, localidades, generos, fechas, precios);
+
+        List<Long> ids = pagina(estado, coincidencias, after, limit);
+        boolean hayMas = ids.size() > limit;
+        if (hayMas) {
+            ids = ids.subList(0, limit);
+        }
+
+        return new Resultado(ids, hayMas, coincidencias.cardinality(),
+                contar(estado, interseccion(estado.ocupadas, generos, fechas, precios), Entrada::localidad,
+                        estado.localidades.valores),
+                contar(estado, interseccion(estado.ocupadas, localidades, fechas, precios), Entrada::genero,
+                        estado.generos.valores),
+                contarBandas(estado, interseccion(estado.ocupadas, localidades, generos, fechas)));
+    }
+
+    /**
+     * Elige los limit + 1 ids menores mayores que after entre las posiciones dadas.
+     */
+    private static List<Long> pagina(Estado estado, BitSet posiciones, long after, int limit) {
+        // La cabeza del montículo es el mayor de los ids elegidos hasta ahora
+        PriorityQueue<Long> pagina = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        for (int p = posiciones.nextSetBit(0); p >= 0; p = posiciones.nextSetBit(p + 1)) {
+            long id = estado.entradas.get(p).id();
+            if (id <= after) {
+                continue;
+            }
+            if (pagina.size() <= limit) {
+                pagina.add(id);
+            } else if (id < pagina.peek()) {
+                pagina.poll();
+                pagina.add(id);
+            }
+        }
+        List<Long> ids = new ArrayList<>(pagina);
+        ids.sort(null);
+        return ids;
+    }
+
+    private static BitSet recorrer(Estado estado, Predicate<Entrada> condicion) {
+        BitSet resultado = new BitSet();
+        for (int p = estado.ocupadas.nextSetBit(0); p >= 0; p = estado.ocupadas.nextSetBit(p + 1)) {
+            if (condicion.test(estado.entradas.get(p))) {
+                resultado.set(p);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Interseca los conjuntos dados, ignorando los nulos, sin modificar ninguno de ellos.
+     */
+    private static BitSet interseccion(BitSet base, BitSet... conjuntos) {
+        BitSet resultado = (BitSet) base.clone();
+        for (BitSet conjunto : conjuntos) {
+            if (conjunto != null) {
+                resultado.and(conjunto);
+            }
+        }
+        return resultado;
+    }
+
+    private static Map<String, Integer> contar(Estado estado, BitSet posiciones, ToIntFunction<Entrada> codigo,
+                                               List<String> valores) {
+        int[] recuentos = new int[valores.size()];
+        for (int p = posiciones.nextSetBit(0); p >= 0; p = posiciones.nextSetBit(p + 1)) {
+            int c = codigo.applyAsInt(estado.entradas.get(p));
+            if (c != SIN_VALOR) {
+                recuentos[c]++;
+            }
+        }
+        List<Integer> codigos = new ArrayList<>();
+        for (int c = 0; c < recuentos.length; c++) {
+            if (recuentos[c] > 0) {
+                codigos.add(c);
+            }
+        }
+        codigos.sort(Comparator.<Integer>comparingInt(c -> -recuentos[c]).thenComparing(valores::get));
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        codigos.forEach(c -> resultado.put(valores.get(c), recuentos[c]));
+        return resultado;
+    }
+
+    private static Map<String, Integer> contarBandas(Estado estado, BitSet posiciones) {
+        int[] recuentos = new int[NOMBRES_BANDAS.size()];
+        for (int p = posiciones.nextSetBit(0); p >= 0; p = posiciones.nextSetBit(p + 1)) {
+            int banda = estado.entradas.get(p).banda();
+            if (banda != SIN_VALOR) {
+                recuentos[banda]++;
+            }
+        }
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        for (int b = 0; b < recuentos.length; b++) {
+            if (recuentos[b] > 0) {
+                resultado.put(NOMBRES_BANDAS.get(b), recuentos[b]);
+            }
+        }
+        return resultado;
+    }
+
+    private static int banda(long precio) {
+        if (precio == Centimos.SIN_PRECIO) {
+            return SIN_VALOR;
+        }
+        int banda = 0;
+        while (banda < BANDAS.length && precio >= BANDAS[banda]) {
+            banda++;
+        }
+        return banda;
+    }
+}
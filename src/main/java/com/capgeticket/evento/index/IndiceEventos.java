@@ -0,0 +1,332 @@
+package com.capgeticket.evento.index;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventosCreadosEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Base de los índices en memoria sobre los eventos.
+ * <p>
+ * El índice se construye en un hilo aparte cuando la aplicación ha arrancado, leyendo la
+ * base de datos en una transacción de solo lectura, y hasta que está listo los servicios
+ * deben responder desde la base de datos. Después se mantiene al día con los
+ * {@link EventoCambiadoEvent} y {@link EventosCreadosEvent} publicados tras cada commit;
+ * los que llegan durante la construcción se guardan y se aplican al terminar.
+ * <p>
+ * Esos avisos solo llegan de esta instancia. Para recoger también los cambios hechos en
+ * otras, antes de cada consulta se compara el contador de cambios de la base de datos con
+ * el último cambio aplicado y, si el índice va por detrás, se aplican los eventos
+ * modificados desde entonces con {@link EventoRepository#findCambios}. Como el ETag de los
+ * listados se lee antes de la consulta, la respuesta nunca es más antigua que su ETag.
+ * <p>
+ * Los cambios guardados tienen un máximo de {@value #MAX_PENDIENTES}: si se supera se
+ * descartan y el índice se vuelve a construir, ya que la base de datos los contiene. Si
+ * la construcción falla el índice deja de guardar cambios y se reintenta con esperas
+ * que se duplican desde 30 segundos hasta un máximo de 10 minutos.
+ *
+ * @param <S> el estado del índice, que solo se lee o modifica con el cerrojo adecuado.
+ */
+public abstract class IndiceEventos<S> {
+
+    /** Número máximo de cambios que se guardan mientras el índice no está listo. */
+    public static final int MAX_PENDIENTES = 10_000;
+
+    /** Número de eventos modificados que se leen en cada consulta al ponerse al día. */
+    static final int LOTE_CAMBIOS = 1000;
+
+    private static final Duration REINTENTO_INICIAL = Duration.ofSeconds(30);
+
+    private static final Duration REINTENTO_MAXIMO = Duration.ofMinutes(10);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Evita que varias consultas lean a la vez los mismos cambios al ponerse al día. */
+    private final Lock alDia = new ReentrantLock();
+
+    private final List<EventoCambiadoEvent> pendientes = new ArrayList<>();
+
+    private S estado;
+
+    private volatile boolean listo = false;
+
+    /** La última construcción falló: los cambios no se guardan hasta el siguiente intento. */
+    private boolean fallido = false;
+
+    /** Se descartaron cambios durante la construcción y hay que volver a empezar. */
+    private boolean desbordado = false;
+
+    private int fallos = 0;
+
+    /** Posición (número de cambio, id) del último cambio de la base de datos aplicado al estado. */
+    private long cambioAplicado;
+
+    private long idAplicado;
+
+    /**
+     * @return true si el índice está activado en la configuración.
+     */
+    protected abstract boolean isEnabled();
+
+    /**
+     * Crea el estado del índice a partir de la base de datos. Se llama dentro de una
+     * transacción de solo lectura y sin tener el cerrojo.
+     *
+     * @return el estado completo del índice.
+     */
+    protected abstract S cargar();
+
+    /**
+     * Aplica un cambio a un evento sobre el estado del índice. Se llama con el cerrojo de escritura.
+     *
+     * @param estado el estado del índice.
+     * @param evento el cambio publicado por el servicio.
+     */
+    protected abstract void aplicar(S estado, EventoCambiadoEvent evento);
+
+    /**
+     * Lanza la construcción del índice en un hilo aparte cuando la aplicación ha arrancado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (isEnabled()) {
+            Thread.ofVirtual().name(getClass().getSimpleName()).start(this::construir);
+        }
+    }
+
+    /**
+     * Construye el índice y lo publica al terminar. Si la lectura falla el índice queda
+     * sin activar, las búsquedas siguen yendo a la base de datos y se programa un nuevo
+     * intento. Si se han descartado cambios durante la lectura se vuelve a construir.
+     */
+    public void construir() {
+        while (!intentarConstruir()) {
+            logger.warn("Demasiados cambios durante la construcción del índice {}, se vuelve a construir",
+                    getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * @return false si hay que repetir la construcción porque se descartaron cambios.
+     */
+    private boolean intentarConstruir() {
+        logger.info("Construyendo el índice {}", getClass().getSimpleName());
+        long inicio = System.nanoTime();
+
+        lock.writeLock().lock();
+        try {
+            fallido = false;
+            desbordado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        Carga<S> nuevo;
+        try {
+            // El contador se lee antes que los eventos: lo confirmado hasta ese número ya
+            // está en la lectura, y lo posterior se aplicará al ponerse al día
+            nuevo = transaction.execute(status -> new Carga<>(eventoRepository.findCambioActual(), cargar()));
+        } catch (RuntimeException e) {
+            Duration espera;
+            lock.writeLock().lock();
+            try {
+                fallido = true;
+                pendientes.clear();
+                fallos++;
+                espera = REINTENTO_INICIAL.multipliedBy(1L << Math.min(fallos - 1, 10));
+                if (espera.compareTo(REINTENTO_MAXIMO) > 0) {
+                    espera = REINTENTO_MAXIMO;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.error("No se pudo construir el índice {}, se reintentará en {} s",
+                    getClass().getSimpleName(), espera.toSeconds(), e);
+            programarReintento(espera);
+            return true;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (desbordado) {
+                return false;
+            }
+            estado = nuevo.estado();
+            cambioAplicado = nuevo.cambio();
+            idAplicado = Long.MAX_VALUE;
+            pendientes.forEach(evento -> aplicar(estado, evento));
+            pendientes.clear();
+            fallos = 0;
+            listo = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice {} construido en {} ms", getClass().getSimpleName(), (System.nanoTime() - inicio) / 1_000_000);
+        return true;
+    }
+
+    private record Carga<S>(long cambio, S estado) {
+    }
+
+    private void programarReintento(Duration espera) {
+        Thread.ofVirtual().name(getClass().getSimpleName()).start(() -> {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            construir();
+        });
+    }
+
+    /**
+     * @return true si el índice está activado y construido, de modo que puede responder consultas.
+     */
+    public boolean isListo() {
+        return isEnabled() && listo;
+    }
+
+    /**
+     * Ejecuta una consulta sobre el estado del índice con el cerrojo de lectura, después
+     * de ponerlo al día con la base de datos.
+     *
+     * @param consulta la consulta a ejecutar.
+     * @return el resultado de la consulta.
+     * @throws IllegalStateException si el índice aún no está listo.
+     */
+    protected <R> R consultar(Function<S, R> consulta) {
+        ponerAlDia();
+        lock.readLock().lock();
+        try {
+            if (estado == null) {
+                throw new IllegalStateException("El índice " + getClass().getSimpleName() + " no está listo");
+            }
+            return consulta.apply(estado);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica los eventos modificados en la base de datos, por esta instancia o por otras,
+     * desde el último cambio aplicado. Si el contador no ha avanzado no lee nada más.
+     */
+    public void ponerAlDia() {
+        if (!listo) {
+            return;
+        }
+        long actual = eventoRepository.findCambioActual();
+        alDia.lock();
+        try {
+            List<EventoDto> cambios;
+            do {
+                long cambio;
+                long id;
+                lock.readLock().lock();
+                try {
+                    if (cambioAplicado >= actual) {
+                        return;
+                    }
+                    cambio = cambioAplicado;
+                    id = idAplicado;
+                } finally {
+                    lock.readLock().unlock();
+                }
+                cambios = eventoRepository.findCambios(cambio, id, Limit.of(LOTE_CAMBIOS));
+                lock.writeLock().lock();
+                try {
+                    for (EventoDto evento : cambios) {
+                        EventoCambiadoEvent.Tipo tipo = Boolean.TRUE.equals(evento.getMostrar())
+                                ? EventoCambiadoEvent.Tipo.EDITADO
+                                : EventoCambiadoEvent.Tipo.ELIMINADO;
+                        aplicar(estado, new EventoCambiadoEvent(tipo, evento.getId(), evento));
+                        cambioAplicado = evento.getCambio();
+                        idAplicado = evento.getId();
+                    }
+                    if (cambios.size() < LOTE_CAMBIOS && cambioAplicado < actual) {
+                        // Lo confirmado hasta el contador leído ya estaba visible en esta lectura
+                        cambioAplicado = actual;
+                        idAplicado = Long.MAX_VALUE;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } while (cambios.size() == LOTE_CAMBIOS);
+        } finally {
+            alDia.unlock();
+        }
+    }
+
+    /**
+     * Actualiza el índice cuando cambia un evento, una vez confirmada la transacción.
+     *
+     * @param evento el cambio publicado por el servicio.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventoCambiado(EventoCambiadoEvent evento) {
+        recibir(List.of(evento));
+    }
+
+    /**
+     * Añade al índice los eventos de un alta en lote, una vez confirmada la transacción.
+     *
+     * @param creados los eventos creados por el servicio.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventosCreados(EventosCreadosEvent creados) {
+        recibir(creados.cambios());
+    }
+
+    private void recibir(List<EventoCambiadoEvent> cambios) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (EventoCambiadoEvent evento : cambios) {
+                if (listo) {
+                    aplicar(estado, evento);
+                } else if (fallido || desbordado) {
+                    // El cambio ya está en la base de datos y lo leerá la siguiente construcción
+                    return;
+                } else if (pendientes.size() < MAX_PENDIENTES) {
+                    pendientes.add(evento);
+                } else {
+                    pendientes.clear();
+                    desbordado = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
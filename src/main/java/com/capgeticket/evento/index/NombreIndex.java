@@ -0,0 +1,149 @@
+package com.capgeticket.evento.index;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.util.Normalizador;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria de trigramas sobre el nombre de los eventos.
+ * Permite resolver la búsqueda por nombre (contiene, sin distinguir mayúsculas) sin
+ * recorrer la tabla con LIKE: se toma la lista de ids del trigrama menos frecuente del
+ * texto buscado y se comprueba cada candidato contra su nombre.
+ * <p>
+ * Junto a cada nombre se guarda el DTO completo del evento, de modo que la búsqueda se
+ * responde entera desde memoria, sin volver a la base de datos a por los resultados. Los
+ * DTOs se mantienen al día con los cambios de otras instancias antes de cada búsqueda
+ * (ver {@link IndiceEventos#ponerAlDia()}).
+ * <p>
+ * Se activa con la propiedad {@code evento.indice-nombre.enabled}. Igual que la consulta
+ * a la base de datos incluye también los eventos ocultos: el borrado lógico solo
+ * actualiza el DTO guardado.
+ */
+@Component
+public class NombreIndex extends IndiceEventos<NombreIndex.Estado> {
+
+    private static final int N = 3;
+
+    @Value("${evento.indice-nombre.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private EventoRepository repository;
+
+    static class Estado {
+        /** Nombre normalizado de cada evento por id. */
+        final Map<Long, String> nombres = new HashMap<>();
+
+        /** Datos de cada evento por id, tal como se devuelven en la búsqueda. */
+        final Map<Long, EventoDto> eventos = new HashMap<>();
+
+        /** Ids de los eventos que contienen cada trigrama, codificado en un long. */
+        final Map<Long, Set<Long>> trigramas = new HashMap<>();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Estado cargar() {
+        Estado estado = new Estado();
+        try (Stream<EventoDto> eventos = repository.streamDtos()) {
+            eventos.forEach(e -> indexar(estado, e));
+        }
+        return estado;
+    }
+
+    /**
+     * Busca los eventos cuyo nombre contiene el texto dado, sin distinguir mayúsculas y minúsculas.
+     *
+     * @param texto el texto a buscar.
+     * @return los eventos encontrados, ordenados por id.
+     */
+    public List<EventoDto> buscar(String texto) {
+        String patron = Normalizador.minusculas(texto);
+        List<EventoDto> eventos = consultar(estado -> {
+            List<EventoDto> encontrados = new ArrayList<>();
+            if (patron.length() < N) {
+                // Texto demasiado corto para tener trigramas: se recorren todos los nombres
+                estado.nombres.forEach((id, nombre) -> {
+                    if (nombre.contains(patron)) {
+                        encontrados.add(estado.eventos.get(id));
+                    }
+                });
+                return encontrados;
+            }
+            Set<Long> candidatos = null;
+            for (int i = 0; i + N <= patron.length(); i++) {
+                Set<Long> posting = estado.trigramas.get(trigrama(patron, i));
+                if (posting == null) {
+                    return encontrados;
+                }
+                if (candidatos == null || posting.size() < candidatos.size()) {
+                    candidatos = posting;
+                }
+            }
+            for (Long id : candidatos) {
+                if (estado.nombres.get(id).contains(patron)) {
+                    encontrados.add(estado.eventos.get(id));
+                }
+            }
+            return encontrados;
+        });
+        eventos.sort(Comparator.comparing(EventoDto::getId));
+        return eventos;
+    }
+
+    @Override
+    protected void aplicar(Estado estado, EventoCambiadoEvent evento) {
+        if (evento.evento() == null) {
+            return;
+        }
+        String anterior = estado.nombres.remove(evento.id());
+        if (anterior != null) {
+            for (int i = 0; i + N <= anterior.length(); i++) {
+                long clave = trigrama(anterior, i);
+                Set<Long> posting = estado.trigramas.get(clave);
+                if (posting != null) {
+                    posting.remove(evento.id());
+                    if (posting.isEmpty()) {
+                        estado.trigramas.remove(clave);
+                    }
+                }
+            }
+        }
+        indexar(estado, evento.evento());
+    }
+
+    private static void indexar(Estado estado, EventoDto evento) {
+        Long id = evento.getId();
+        String nombre = Normalizador.minusculas(evento.getNombre());
+        estado.eventos.put(id, evento);
+        estado.nombres.put(id, nombre);
+        for (int i = 0; i + N <= nombre.length(); i++) {
+            estado.trigramas.computeIfAbsent(trigrama(nombre, i), k -> new HashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Codifica los tres caracteres a partir de la posición dada en un long, para no crear
+     * un String por cada trigrama.
+     */
+    private static long trigrama(String texto, int i) {
+        return ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+    }
+}
@@ -0,0 +1,127 @@
+package com.capgeticket.evento.index;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.util.Normalizador;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de los eventos visibles ordenados por fecha, para las consultas por
+ * rango de fechas ("este fin de semana en Madrid").
+ * <p>
+ * Guarda un conjunto ordenado por (fecha, id) con todos los eventos y otro por cada
+ * localidad, por su clave normalizada. Una consulta busca el comienzo del rango en el
+ * conjunto que corresponde y recorre solo los eventos que devuelve, en O(log n + k).
+ * <p>
+ * Se activa con la propiedad {@code evento.indice-proximos.enabled}.
+ */
+@Component
+public class ProximosIndex extends IndiceEventos<ProximosIndex.Estado> {
+
+    @Value("${evento.indice-proximos.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private EventoRepository repository;
+
+    record Clave(LocalDate fecha, long id) implements Comparable<Clave> {
+
+        @Override
+        public int compareTo(Clave otra) {
+            int porFecha = fecha.compareTo(otra.fecha);
+            return porFecha != 0 ? porFecha : Long.compare(id, otra.id);
+        }
+    }
+
+    record Entrada(Clave clave, String localidad) {
+    }
+
+    static class Estado {
+        final NavigableSet<Clave> todos = new TreeSet<>();
+        final Map<String, NavigableSet<Clave>> porLocalidad = new HashMap<>();
+        final Map<Long, Entrada> entradas = new HashMap<>();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Estado cargar() {
+        Estado estado = new Estado();
+        try (Stream<EventoDto> eventos = repository.streamDtosMostrar()) {
+            eventos.forEach(e -> indexar(estado, e));
+        }
+        return estado;
+    }
+
+    /**
+     * Obtiene los eventos visibles entre dos fechas, opcionalmente en una localidad.
+     *
+     * @param desde     primera fecha incluida.
+     * @param hasta     última fecha incluida.
+     * @param localidad la localidad, sin distinguir mayúsculas ni tildes, o null para todas.
+     * @param limit     número máximo de eventos.
+     * @return los ids de los eventos, ordenados por fecha y después por id.
+     */
+    public List<Long> buscar(LocalDate desde, LocalDate hasta, String localidad, int limit) {
+        return consultar(estado -> {
+            NavigableSet<Clave> conjunto = localidad == null ? estado.todos
+                    : estado.porLocalidad.getOrDefault(Normalizador.clave(localidad), Collections.emptyNavigableSet());
+            List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+            for (Clave clave : conjunto.tailSet(new Clave(desde, Long.MIN_VALUE), true)) {
+                if (ids.size() == limit || clave.fecha().isAfter(hasta)) {
+                    break;
+                }
+                ids.add(clave.id());
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    protected void aplicar(Estado estado, EventoCambiadoEvent evento) {
+        Entrada anterior = estado.entradas.remove(evento.id());
+        if (anterior != null) {
+            estado.todos.remove(anterior.clave());
+            NavigableSet<Clave> enLocalidad = estado.porLocalidad.get(anterior.localidad());
+            if (enLocalidad != null) {
+                enLocalidad.remove(anterior.clave());
+                if (enLocalidad.isEmpty()) {
+                    estado.porLocalidad.remove(anterior.localidad());
+                }
+            }
+        }
+        EventoDto dto = evento.evento();
+        if (evento.tipo() != EventoCambiadoEvent.Tipo.ELIMINADO && dto != null && Boolean.TRUE.equals(dto.getMostrar())) {
+            indexar(estado, dto);
+        }
+    }
+
+    private static void indexar(Estado estado, EventoDto evento) {
+        if (evento.getFechaEvento() == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(new Clave(evento.getFechaEvento(), evento.getId()),
+                Normalizador.clave(evento.getLocalidad()));
+        estado.entradas.put(evento.getId(), entrada);
+        estado.todos.add(entrada.clave());
+        if (entrada.localidad() != null) {
+            estado.porLocalidad.computeIfAbsent(entrada.localidad(), k -> new TreeSet<>()).add(entrada.clave());
+        }
+    }
+}
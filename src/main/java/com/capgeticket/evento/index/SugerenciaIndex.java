@@ -0,0 +1,152 @@
+package com.capgeticket.evento.index;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.util.Normalizador;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria para el autocompletado de nombres de eventos visibles.
+ * <p>
+ * Guarda en un mapa ordenado una clave por cada palabra del nombre plegado (minúsculas y
+ * sin tildes), formada por el resto del nombre desde esa palabra, de modo que las claves que
+ * empiezan por un prefijo son un rango contiguo del mapa. De ese rango se eligen las
+ * mejores sugerencias con un montículo acotado al límite pedido: primero los eventos
+ * próximos, del más cercano al más lejano, y después los pasados, del más reciente al
+ * más antiguo.
+ * <p>
+ * Se activa con la propiedad {@code evento.indice-sugerencias.enabled}.
+ */
+@Component
+public class SugerenciaIndex extends IndiceEventos<SugerenciaIndex.Estado> {
+
+    /** Separa el texto de la clave del id, que la hace única aunque dos nombres coincidan. */
+    private static final char SEPARADOR = '\u0000';
+
+    @Value("${evento.indice-sugerencias.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private EventoRepository repository;
+
+    record Entrada(Long id, String nombre, LocalDate fecha) {
+    }
+
+    static class Estado {
+        final TreeMap<String, Entrada> claves = new TreeMap<>();
+        final Map<Long, Entrada> entradas = new HashMap<>();
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    protected Estado cargar() {
+        Estado estado = new Estado();
+        try (Stream<EventoDto> eventos = repository.streamDtosMostrar()) {
+            eventos.forEach(e -> indexar(estado, new Entrada(e.getId(), e.getNombre(), e.getFechaEvento())));
+        }
+        return estado;
+    }
+
+    /**
+     * Obtiene los eventos visibles con alguna palabra del nombre que empieza por el prefijo,
+     * sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefijo el texto escrito por el usuario.
+     * @param limit   número máximo de sugerencias.
+     * @param hoy     la fecha a partir de la cual un evento se considera próximo.
+     * @return las sugerencias ordenadas por relevancia.
+     */
+    public List<EventoNombreDto> sugerir(String prefijo, int limit, LocalDate hoy) {
+        String desde = Normalizador.plegar(prefijo).stripLeading();
+        Comparator<Entrada> ranking = ranking(hoy);
+
+        PriorityQueue<Entrada> mejores = consultar(estado -> {
+            // La cabeza del montículo es la peor de las sugerencias elegidas hasta ahora
+            PriorityQueue<Entrada> cola = new PriorityQueue<>(limit + 1, ranking.reversed());
+            Set<Long> vistos = new HashSet<>();
+            for (Entrada entrada : estado.claves.subMap(desde, true, desde + Character.MAX_VALUE, false).values()) {
+                if (!vistos.add(entrada.id())) {
+                    continue;
+                }
+                if (cola.size() < limit) {
+                    cola.add(entrada);
+                } else if (ranking.compare(entrada, cola.peek()) < 0) {
+                    cola.poll();
+                    cola.add(entrada);
+                }
+            }
+            return cola;
+        });
+
+        List<Entrada> ordenadas = new ArrayList<>(mejores);
+        ordenadas.sort(ranking);
+        return ordenadas.stream().map(e -> new EventoNombreDto(e.id(), e.nombre())).toList();
+    }
+
+    @Override
+    protected void aplicar(Estado estado, EventoCambiadoEvent evento) {
+        Entrada anterior = estado.entradas.remove(evento.id());
+        if (anterior != null) {
+            claves(anterior).forEach(estado.claves::remove);
+        }
+        EventoDto dto = evento.evento();
+        if (evento.tipo() != EventoCambiadoEvent.Tipo.ELIMINADO && dto != null && Boolean.TRUE.equals(dto.getMostrar())) {
+            indexar(estado, new Entrada(evento.id(), dto.getNombre(), dto.getFechaEvento()));
+        }
+    }
+
+    private static void indexar(Estado estado, Entrada entrada) {
+        estado.entradas.put(entrada.id(), entrada);
+        for (String clave : claves(entrada)) {
+            estado.claves.put(clave, entrada);
+        }
+    }
+
+    /**
+     * Genera una clave por cada palabra del nombre plegado: el nombre desde esa palabra
+     * hasta el final, seguido del id.
+     */
+    private static List<String> claves(Entrada entrada) {
+        String nombre = Normalizador.plegar(entrada.nombre());
+        String sufijo = SEPARADOR + entrada.id().toString();
+        List<String> claves = new ArrayList<>();
+        for (int i = 0; i < nombre.length(); i++) {
+            boolean inicioDePalabra = i == 0 || !Character.isLetterOrDigit(nombre.charAt(i - 1));
+            if (inicioDePalabra && Character.isLetterOrDigit(nombre.charAt(i))) {
+                claves.add(nombre.substring(i) + sufijo);
+            }
+        }
+        return claves;
+    }
+
+    private static Comparator<Entrada> ranking(LocalDate hoy) {
+        Comparator<Entrada> porGrupo = Comparator.comparingInt(e -> e.fecha() == null ? 2 : e.fecha().isBefore(hoy) ? 1 : 0);
+        return porGrupo.thenComparing((a, b) -> {
+            if (a.fecha() == null || b.fecha() == null) {
+                return 0;
+            }
+            // Próximos del más cercano al más lejano; pasados del más reciente al más antiguo
+            return a.fecha().isBefore(hoy) ? b.fecha().compareTo(a.fecha()) : a.fecha().compareTo(b.fecha());
+        }).thenComparing(Entrada::id);
+    }
+}
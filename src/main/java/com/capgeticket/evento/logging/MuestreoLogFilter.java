@@ -0,0 +1,45 @@
+package com.capgeticket.evento.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide al inicio de cada petición si sus logs INFO y DEBUG se escriben, con la probabilidad
+ * configurada en {@code evento.logging.sample-rate} (1.0 escribe todos, 0.1 uno de cada diez).
+ * La decisión se guarda en el MDC para que {@link MuestreoTurboFilter} la aplique a todos los
+ * logs de la petición, de modo que una petición se registra entera o no se registra.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MuestreoLogFilter extends OncePerRequestFilter {
+
+    @Value("${evento.logging.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (sampleRate >= 1.0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean muestreada = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        MDC.put(MuestreoTurboFilter.MDC_MUESTREO, Boolean.toString(muestreada));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MuestreoTurboFilter.MDC_MUESTREO);
+        }
+    }
+}
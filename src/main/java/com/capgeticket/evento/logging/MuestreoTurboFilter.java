@@ -0,0 +1,30 @@
+package com.capgeticket.evento.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Descarta los logs por debajo de WARN de las peticiones que no han salido en el muestreo.
+ * <p>
+ * {@link MuestreoLogFilter} marca cada petición en el MDC con {@link #MDC_MUESTREO}. Al ser un
+ * TurboFilter se evalúa antes de crear el evento de log, por lo que los mensajes descartados
+ * no llegan a formatearse ni a encolarse en los appenders. WARN y ERROR se mantienen siempre,
+ * igual que los logs fuera de una petición.
+ */
+public class MuestreoTurboFilter extends TurboFilter {
+
+    /** Clave del MDC con "false" cuando la petición no se ha elegido para el muestreo. */
+    public static final String MDC_MUESTREO = "muestreo";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "false".equals(MDC.get(MDC_MUESTREO)) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
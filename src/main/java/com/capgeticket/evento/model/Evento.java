@@ -1,18 +1,38 @@
 package com.capgeticket.evento.model;
 
 import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.util.Normalizador;
 import jakarta.persistence.*;
 import lombok.Data;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Evento del catálogo. La entidad no se guarda en la caché de segundo nivel: las búsquedas
+ * por id las cachea EventoServiceImpl como EventoDto en la caché de Spring
+ * {@value com.capgeticket.evento.config.CacheConfig#EVENTOS_CACHE}. Hibernate solo cachea
+ * los resultados de las consultas marcadas como cacheables en EventoRepository, en la región
+ * {@value #CONSULTAS_CACHE_REGION}, cuyo tamaño y caducidad se configuran en application.conf.
+ */
 @Data
 @Entity
 @Table(name = "evento")
 public class Evento {
 
+    /** Región de la caché de consultas con los resultados de findByCity y findByGenero. */
+    public static final String CONSULTAS_CACHE_REGION = "evento-consultas";
+
+    /** Ids reservados en cada llamada a la secuencia; debe coincidir con su INCREMENT BY. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Id tomado de la secuencia evento_seq en bloques de {@value #ID_ALLOCATION_SIZE},
+     * lo que permite insertar los eventos en lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_seq")
+    @SequenceGenerator(name = "evento_seq", sequenceName = "evento_seq", allocationSize = Evento.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "nombre", nullable = false, length = 255)
@@ -30,21 +50,57 @@ public class Evento {
     @Column(name = "preciomaximo", nullable = false, precision = 10, scale = 2)
     private BigDecimal precioMaximo;
 
+    @Convert(converter = ValorInternadoConverter.class)
     @Column(name = "localidad", nullable = false, length = 255)
     private String localidad;
 
+    @Convert(converter = ValorInternadoConverter.class)
     @Column(name = "nombredelrecinto", nullable = false, length = 255)
     private String nombreDelRecinto;
 
+    @Convert(converter = ValorInternadoConverter.class)
     @Column(name = "genero", nullable = false, length = 255)
     private String genero;
 
+    /**
+     * Localidad normalizada con {@link Normalizador#clave(String)}, por la que se busca para que
+     * no importen mayúsculas, tildes ni espacios. Se actualiza al asignar la localidad.
+     */
+    @Column(name = "localidadclave", nullable = false, length = 255)
+    private String localidadClave;
+
+    /** Género normalizado, igual que {@link #localidadClave}. */
+    @Column(name = "generoclave", nullable = false, length = 255)
+    private String generoClave;
+
     @Column(name = "mostrar", nullable = false)
     private Boolean mostrar;
 
     @Column(name = "precio", nullable = false, precision = 10, scale = 2)
     private BigDecimal precio;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Número del cambio del catálogo que modificó el evento por última vez, para la
+     * sincronización incremental. Lo asigna la base de datos al insertar y en los UPDATE de
+     * EventoRepository, así que Hibernate nunca lo escribe y en una entidad recién guardada es null.
+     */
+    @Column(name = "cambio", insertable = false, updatable = false)
+    private Long cambio;
+
+    public void setLocalidad(String localidad) {
+        this.localidad = localidad;
+        this.localidadClave = Normalizador.clave(localidad);
+    }
+
+    public void setGenero(String genero) {
+        this.genero = genero;
+        this.generoClave = Normalizador.clave(genero);
+    }
+
 
 
     public static Evento of(EventoDto eventoDto, boolean editing) {
@@ -52,6 +108,7 @@ public class Evento {
         if (editing) {
             //Como icaro, quise volar muy cerca del sol y me queme
             evento.setId(eventoDto.getId());
+            evento.setVersion(eventoDto.getVersion());
         }
         evento.setNombre(eventoDto.getNombre());
         evento.setDescripcion(eventoDto.getDescripcion());
@@ -0,0 +1,54 @@
+package com.capgeticket.evento.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Comparte una sola instancia de cada valor leído de las columnas con pocos valores
+ * distintos que se repiten en muchas filas (localidad, género y recinto). Así un listado
+ * completo del catálogo no crea la misma cadena "Madrid" en cada entidad y cada DTO.
+ * <p>
+ * Se aplica también a las proyecciones a {@code EventoDto} de EventoRepository. Solo se
+ * guardan los valores leídos de la base de datos, y si se alcanza el máximo los nuevos se
+ * devuelven sin compartir.
+ */
+@Converter
+public class ValorInternadoConverter implements AttributeConverter<String, String> {
+
+    /** Número máximo de valores distintos que se guardan. */
+    static final int MAX_VALORES = 100_000;
+
+    private static final ConcurrentMap<String, String> VALORES = new ConcurrentHashMap<>();
+
+    @Override
+    public String convertToDatabaseColumn(String valor) {
+        return valor;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String valor) {
+        return internar(valor);
+    }
+
+    /**
+     * @param valor el valor leído, puede ser nulo.
+     * @return la instancia compartida igual al valor.
+     */
+    public static String internar(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String compartido = VALORES.get(valor);
+        if (compartido != null) {
+            return compartido;
+        }
+        if (VALORES.size() >= MAX_VALORES) {
+            return valor;
+        }
+        compartido = VALORES.putIfAbsent(valor, valor);
+        return compartido != null ? compartido : valor;
+    }
+}
@@ -1,43 +1,344 @@
 package com.capgeticket.evento.repository;
 
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoRecuentoDto;
 import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.util.Normalizador;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventoRepository extends JpaRepository<Evento,Long> {
+
+    /**
+     * Inicio común de las consultas de lectura: construye el EventoDto directamente desde
+     * el resultado, sin crear entidades gestionadas por el contexto de persistencia.
+     */
+    String SELECT_DTO = "SELECT new com.capgeticket.evento.dto.EventoDto(e.id, e.nombre, e.descripcion, " +
+            "e.fechaEvento, e.precioMinimo, e.precioMaximo, e.localidad, e.nombreDelRecinto, e.genero, " +
+            "e.mostrar, e.precio, e.version, e.cambio) FROM Evento e ";
+
     /**
      * Busca eventos cuyo nombre contenga el texto especificado, ignorando mayúsculas y minúsculas.
+     * Los comodines de LIKE que contenga el texto se escapan para buscarlos literalmente.
      *
      * @param nombre El nombre a buscar en los eventos.
      * @return Lista de eventos que coinciden con el criterio de búsqueda.
      */
-    List<Evento> findByNombreContainingIgnoreCase(String nombre);
+    @Query(SELECT_DTO + "WHERE LOWER(e.nombre) LIKE LOWER(CONCAT('%', :#{escape(#nombre)}, '%')) ESCAPE :#{escapeCharacter()}")
+    List<EventoDto> findByNombre(String nombre);
+
     /**
-     * Encuentra los eventos según la localidad (ciudad).
+     * Encuentra los eventos según la localidad (ciudad), sin distinguir mayúsculas ni tildes.
      *
      * @param localidad La ciudad por la que se desea filtrar los eventos.
      * @return Lista de eventos en la ciudad dada.
      */
-    @Query("SELECT e FROM Evento e WHERE e.localidad = :localidad")
-    List<Evento> findByCity(String localidad);
+    default List<EventoDto> findByCity(String localidad) {
+        return findByLocalidadClave(Normalizador.clave(localidad));
+    }
+
+    /**
+     * El resultado se guarda en la caché de consultas de Hibernate, que se invalida con
+     * cualquier cambio en la tabla evento.
+     *
+     * @param localidadClave la localidad normalizada con {@link Normalizador#clave(String)}.
+     * @return Lista de eventos en la localidad.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Evento.CONSULTAS_CACHE_REGION)})
+    @Query(SELECT_DTO + "WHERE e.localidadClave = :localidadClave")
+    List<EventoDto> findByLocalidadClave(String localidadClave);
 
     /**
-     * Busca eventos cuyo género contenga el texto especificado
+     * Busca eventos del género especificado, sin distinguir mayúsculas ni tildes.
      *
      * @param genero El género a buscar en los eventos.
      * @return Lista de eventos que coinciden con el criterio de búsqueda.
      */
-    List<Evento> findByGenero(String genero);
+    default List<EventoDto> findByGenero(String genero) {
+        return findByGeneroClave(Normalizador.clave(genero));
+    }
+
+    /**
+     * El resultado se guarda en la caché de consultas, igual que {@link #findByLocalidadClave(String)}.
+     *
+     * @param generoClave el género normalizado con {@link Normalizador#clave(String)}.
+     * @return Lista de eventos del género.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Evento.CONSULTAS_CACHE_REGION)})
+    @Query(SELECT_DTO + "WHERE e.generoClave = :generoClave")
+    List<EventoDto> findByGeneroClave(String generoClave);
+
+    @Query(SELECT_DTO + "WHERE e.mostrar")
+    List<EventoDto> findAllMostrar();
+
+    /**
+     * Obtiene una página de eventos visibles posteriores a un id (paginación por cursor).
+     * Filtrar y ordenar por id permite recorrer el índice de la clave primaria sin OFFSET,
+     * por lo que el coste de cada página no depende del tamaño de la tabla.
+     *
+     * @param after id del último evento de la página anterior (0 para la primera página).
+     * @param limit número máximo de eventos a devolver.
+     * @return Lista de eventos visibles ordenada por id.
+     */
+    @Query(SELECT_DTO + "WHERE e.mostrar AND e.id > :after ORDER BY e.id")
+    List<EventoDto> findPageMostrar(Long after, Limit limit);
+
+    /**
+     * Eventos visibles entre dos fechas, en orden de fecha y después de id.
+     *
+     * @param desde primera fecha incluida.
+     * @param hasta última fecha incluida.
+     * @param limit número máximo de eventos a devolver.
+     * @return Lista de eventos ordenada por fecha.
+     */
+    @Query(SELECT_DTO + "WHERE e.mostrar AND e.fechaEvento BETWEEN :desde AND :hasta ORDER BY e.fechaEvento, e.id")
+    List<EventoDto> findProximos(LocalDate desde, LocalDate hasta, Limit limit);
+
+    /**
+     * Igual que {@link #findProximos(LocalDate, LocalDate, Limit)}, solo en una localidad.
+     *
+     * @param localidadClave la localidad normalizada con {@link Normalizador#clave(String)}.
+     */
+    @Query(SELECT_DTO + "WHERE e.mostrar AND e.localidadClave = :localidadClave " +
+            "AND e.fechaEvento BETWEEN :desde AND :hasta ORDER BY e.fechaEvento, e.id")
+    List<EventoDto> findProximosEnLocalidad(String localidadClave, LocalDate desde, LocalDate hasta, Limit limit);
+
+    /**
+     * Filtros de la búsqueda facetada preparados para las consultas: las localidades y los
+     * géneros como claves normalizadas, vacías si no se filtra por ellos, y los rangos de
+     * fecha y precio siempre con sus dos límites.
+     */
+    record Busqueda(List<String> localidades, List<String> generos, LocalDate desde, LocalDate hasta,
+                    BigDecimal precioMin, BigDecimal precioMax) {
+
+        public boolean porLocalidad() {
+            return !localidades.isEmpty();
+        }
+
+        public boolean porGenero() {
+            return !generos.isEmpty();
+        }
+
+        /** Una lista vacía no es válida en un IN, así que sin filtro se pasa un valor cualquiera. */
+        public List<String> clavesLocalidad() {
+            return porLocalidad() ? localidades : List.of("");
+        }
+
+        public List<String> clavesGenero() {
+            return porGenero() ? generos : List.of("");
+        }
+    }
+
+    String BUSQUEDA_LOCALIDAD = "AND (:#{#busqueda.porLocalidad()} = false OR e.localidadClave IN :#{#busqueda.clavesLocalidad()}) ";
+    String BUSQUEDA_GENERO = "AND (:#{#busqueda.porGenero()} = false OR e.generoClave IN :#{#busqueda.clavesGenero()}) ";
+    String BUSQUEDA_FECHA = "AND e.fechaEvento BETWEEN :#{#busqueda.desde()} AND :#{#busqueda.hasta()} ";
+    String BUSQUEDA_PRECIO = "AND e.precio BETWEEN :#{#busqueda.precioMin()} AND :#{#busqueda.precioMax()} ";
+
+    /** Las mismas bandas de precio que FacetaIndex. */
+    String BANDA_PRECIO = "CASE WHEN e.precio < 20 THEN '0-20' WHEN e.precio < 50 THEN '20-50' " +
+            "WHEN e.precio < 100 THEN '50-100' ELSE '100+' END";
+
+    /**
+     * Página de la búsqueda facetada de eventos visibles, por id.
+     *
+     * @param busqueda los filtros de la búsqueda.
+     * @param after    id del último evento de la página anterior (0 para la primera).
+     * @param limit    número máximo de eventos a devolver.
+     * @return Lista de eventos visibles que cumplen todos los filtros, ordenada por id.
+     */
+    @Query(SELECT_DTO + "WHERE e.mostrar " + BUSQUEDA_LOCALIDAD + BUSQUEDA_GENERO + BUSQUEDA_FECHA + BUSQUEDA_PRECIO +
+            "AND e.id > :after ORDER BY e.id")
+    List<EventoDto> findBusqueda(Busqueda busqueda, long after, Limit limit);
+
+    /**
+     * @return el número de eventos visibles que cumplen todos los filtros de la búsqueda.
+     */
+    @Query("SELECT COUNT(e) FROM Evento e WHERE e.mostrar " + BUSQUEDA_LOCALIDAD + BUSQUEDA_GENERO +
+            BUSQUEDA_FECHA + BUSQUEDA_PRECIO)
+    long countBusqueda(Busqueda busqueda);
+
+    /**
+     * Recuento por localidad de los eventos que cumplen el resto de filtros, agrupando las
+     * variantes de una misma localidad por su clave.
+     */
+    @Query("SELECT new com.capgeticket.evento.dto.EventoRecuentoDto(MIN(e.localidad), COUNT(e)) FROM Evento e " +
+            "WHERE e.mostrar " + BUSQUEDA_GENERO + BUSQUEDA_FECHA + BUSQUEDA_PRECIO + "GROUP BY e.localidadClave")
+    List<EventoRecuentoDto> countBusquedaPorLocalidad(Busqueda busqueda);
+
+    /**
+     * Recuento por género de los eventos que cumplen el resto de filtros, igual que por localidad.
+     */
+    @Query("SELECT new com.capgeticket.evento.dto.EventoRecuentoDto(MIN(e.genero), COUNT(e)) FROM Evento e " +
+            "WHERE e.mostrar " + BUSQUEDA_LOCALIDAD + BUSQUEDA_FECHA + BUSQUEDA_PRECIO + "GROUP BY e.generoClave")
+    List<EventoRecuentoDto> countBusquedaPorGenero(Busqueda busqueda);
+
+    /**
+     * Recuento por banda de precio de los eventos que cumplen el resto de filtros.
+     */
+    @Query("SELECT new com.capgeticket.evento.dto.EventoRecuentoDto(" + BANDA_PRECIO + ", COUNT(e)) FROM Evento e " +
+            "WHERE e.mostrar " + BUSQUEDA_LOCALIDAD + BUSQUEDA_GENERO + BUSQUEDA_FECHA + "GROUP BY " + BANDA_PRECIO)
+    List<EventoRecuentoDto> countBusquedaPorPrecio(Busqueda busqueda);
+
+    /**
+     * Eventos visibles con alguna entrada en el rango de precios dado, es decir, cuyo rango
+     * de precioMinimo a precioMaximo se solapa con él, paginados por id.
+     *
+     * @param min   precio mínimo incluido.
+     * @param max   precio máximo incluido.
+     * @param after id del último evento de la página anterior (0 para la primera).
+     * @param limit número máximo de eventos a devolver.
+     * @return Lista de eventos visibles ordenada por id.
+     */
+    @Query(SELECT_DTO + "WHERE e.mostrar AND e.precioMaximo >= :min AND e.precioMinimo <= :max " +
+            "AND e.id > :after ORDER BY e.id")
+    List<EventoDto> findPorPrecio(BigDecimal min, BigDecimal max, Long after, Limit limit);
+
+    /**
+     * Recorre todos los eventos visibles sin cargarlos a la vez en memoria.
+     * El driver va leyendo las filas por bloques según el fetch size, por lo que el
+     * Stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream de eventos visibles ordenados por id.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Evento e WHERE e.mostrar ORDER BY e.id")
+    Stream<Evento> streamAllMostrar();
 
-    @Query("SELECT e FROM Evento e WHERE e.mostrar")
-    List<Evento> findAllMostrar();
+    /**
+     * Obtiene los eventos con los ids dados, ordenados por id.
+     * Se usa para resolver los resultados de los índices en memoria con una sola consulta
+     * por la clave primaria.
+     *
+     * @param ids los ids de los eventos a obtener.
+     * @return Lista de eventos encontrados; los ids inexistentes se ignoran.
+     */
+    @Query(SELECT_DTO + "WHERE e.id IN :ids ORDER BY e.id")
+    List<EventoDto> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Recorre todos los eventos, visibles o no, como DTO para construir el índice de
+     * nombres. Debe consumirse dentro de una transacción y cerrarse al terminar.
+     *
+     * @return Stream de todos los eventos.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO)
+    Stream<EventoDto> streamDtos();
+
+    /**
+     * Recorre todos los eventos visibles como DTO, sin cargarlos a la vez en memoria.
+     * Se usa para construir los índices en memoria; debe consumirse dentro de una
+     * transacción y cerrarse al terminar.
+     *
+     * @return Stream de eventos visibles.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_DTO + "WHERE e.mostrar")
+    Stream<EventoDto> streamDtosMostrar();
+
+    /**
+     * Busca eventos visibles cuyo nombre empieza por el prefijo dado, sin distinguir
+     * mayúsculas. Los próximos van primero, del más cercano al más lejano, y después los
+     * pasados, del más reciente al más antiguo.
+     *
+     * @param prefijo el comienzo del nombre.
+     * @param limit   número máximo de eventos a devolver.
+     * @return Lista con el id y el nombre de los eventos encontrados.
+     */
+    @Query("SELECT new com.capgeticket.evento.dto.EventoNombreDto(e.id, e.nombre) FROM Evento e " +
+            "WHERE e.mostrar AND LOWER(e.nombre) LIKE LOWER(CONCAT(:#{escape(#prefijo)}, '%')) ESCAPE :#{escapeCharacter()} " +
+            "ORDER BY CASE WHEN e.fechaEvento >= CURRENT_DATE THEN 0 ELSE 1 END, " +
+            "CASE WHEN e.fechaEvento >= CURRENT_DATE THEN e.fechaEvento END, e.fechaEvento DESC, e.id")
+    List<EventoNombreDto> findSugerencias(String prefijo, Limit limit);
 
     @Query("UPDATE Evento e SET e.mostrar = false WHERE e.id = ?1")
     @Modifying
     void deleteById(Long id);
+
+    /**
+     * Busca los eventos modificados después de una marca (cambio, id), en ese orden,
+     * incluidos los ocultos, que el cliente debe tratar como eliminados. Usa el índice
+     * sobre (cambio, id).
+     *
+     * @param cambio  el número de cambio de la marca.
+     * @param afterId el id de la marca, para desempatar eventos modificados en el mismo cambio.
+     * @param limit   número máximo de eventos a devolver.
+     * @return Lista de eventos modificados, visibles u ocultos.
+     */
+    @Query(SELECT_DTO + "WHERE e.cambio > :cambio OR (e.cambio = :cambio AND e.id > :afterId) ORDER BY e.cambio, e.id")
+    List<EventoDto> findCambios(long cambio, long afterId, Limit limit);
+
+    /**
+     * Número de cambio de una escritura, tomado del contador de la base de datos por la
+     * función siguiente_cambio() (migración V9). Se evalúa dentro del UPDATE y solo para las
+     * filas afectadas; la fila del contador queda bloqueada hasta el commit, así que las
+     * escrituras concurrentes se serializan a cambio de que los números se confirmen en orden.
+     */
+    String SIGUIENTE_CAMBIO = "CAST(FUNCTION('siguiente_cambio') AS Long)";
+
+    /**
+     * @return el valor actual del contador de cambios del catálogo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "evento_cambio"))
+    @Query(value = "SELECT valor FROM evento_cambio WHERE id = 1", nativeQuery = true)
+    long findCambioActual();
+
+    /**
+     * Oculta (borrado lógico) el evento con el id dado en una única sentencia UPDATE.
+     * El número de filas afectadas indica si el evento existía, sin consultas previas.
+     * La versión se incrementa, como en cualquier otra modificación, para que cambie su ETag,
+     * y el número de cambio se asigna en la misma sentencia.
+     *
+     * @param id El id del evento a ocultar.
+     * @return 1 si el evento existía, 0 si no.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Evento e SET e.mostrar = false, e.cambio = " + SIGUIENTE_CAMBIO +
+            ", e.version = e.version + 1 WHERE e.id = ?1")
+    int softDeleteById(Long id);
+
+    /**
+     * Actualiza todos los campos de un evento en una única sentencia, sin leerlo antes.
+     * Si el evento trae versión solo se actualiza cuando coincide con la guardada
+     * (bloqueo optimista); si no la trae se actualiza sin comprobarla.
+     * En ambos casos la versión se incrementa y el número de cambio se asigna en la misma sentencia.
+     *
+     * @param evento El evento con los nuevos datos, su id y opcionalmente su versión.
+     * @return 1 si se actualizó, 0 si el evento no existe o la versión no coincide.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Evento e SET e.nombre = :#{#evento.nombre}, e.descripcion = :#{#evento.descripcion}, " +
+            "e.fechaEvento = :#{#evento.fechaEvento}, e.precioMinimo = :#{#evento.precioMinimo}, " +
+            "e.precioMaximo = :#{#evento.precioMaximo}, e.localidad = :#{#evento.localidad}, " +
+            "e.nombreDelRecinto = :#{#evento.nombreDelRecinto}, e.genero = :#{#evento.genero}, " +
+            "e.localidadClave = :#{#evento.localidadClave}, e.generoClave = :#{#evento.generoClave}, " +
+            "e.mostrar = :#{#evento.mostrar}, e.precio = :#{#evento.precio}, e.version = e.version + 1, " +
+            "e.cambio = " + SIGUIENTE_CAMBIO + " " +
+            "WHERE e.id = :#{#evento.id} AND e.version = COALESCE(:#{#evento.version}, e.version)")
+    int updateEvento(Evento evento);
 }
@@ -0,0 +1,19 @@
+package com.capgeticket.evento.service;
+
+import com.capgeticket.evento.dto.EventoDto;
+
+/**
+ * Evento de aplicación publicado por {@link EventoServiceImpl} cada vez que se crea,
+ * edita o elimina un evento. Los índices en memoria lo escuchan para mantenerse al día
+ * una vez confirmada la transacción.
+ *
+ * @param tipo   el tipo de cambio.
+ * @param id     el id del evento afectado.
+ * @param evento el estado nuevo del evento, o null si se ha eliminado.
+ */
+public record EventoCambiadoEvent(Tipo tipo, Long id, EventoDto evento) {
+
+    public enum Tipo {
+        CREADO, EDITADO, ELIMINADO
+    }
+}
@@ -1,22 +1,50 @@
 package com.capgeticket.evento.service;
 
+import com.capgeticket.evento.dto.EventoBatchDto;
+import com.capgeticket.evento.dto.EventoBusquedaDto;
+import com.capgeticket.evento.dto.EventoCambiosDto;
 import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoFiltroDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoPageDto;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 public interface EventoService {
 
     List<EventoDto> findAll();
 
+    EventoPageDto findPage(String after, int limit);
+
+    long exportAll(Consumer<EventoDto> consumer);
+
+    EventoCambiosDto findChanges(String since, int limit);
+
     EventoDto findById(Long id);
 
+    EventoBatchDto findBatch(List<Long> ids);
+
     EventoDto add(EventoDto evento);
+
+    List<Long> addAll(List<EventoDto> eventos);
+
     boolean existsById(Long id);
     boolean deleteById(Long id);
     List<EventoDto> findByName(String name);
 
+    List<EventoNombreDto> suggest(String prefix, int limit);
+
+    EventoBusquedaDto search(EventoFiltroDto filtro, String after, int limit);
+
+    List<EventoDto> findUpcoming(LocalDate from, LocalDate to, String localidad, int limit);
+
+    EventoPageDto findByPrice(BigDecimal min, BigDecimal max, String after, int limit);
+
     EventoDto edit(EventoDto eventoDto);
     Collection<EventoDto> findByCity(String city);
     List<EventoDto> findByGenre(String genre);
@@ -1,43 +1,232 @@
 package com.capgeticket.evento.service;
 
+import com.capgeticket.evento.config.CacheConfig;
+import com.capgeticket.evento.dto.EventoBatchDto;
+import com.capgeticket.evento.dto.EventoBusquedaDto;
+import com.capgeticket.evento.dto.EventoCambiosDto;
 import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoFiltroDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.dto.EventoRecuentoDto;
 import com.capgeticket.evento.exception.EventoNotFoundException;
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
+import com.capgeticket.evento.index.Centimos;
+import com.capgeticket.evento.index.FacetaIndex;
+import com.capgeticket.evento.index.NombreIndex;
+import com.capgeticket.evento.index.ProximosIndex;
+import com.capgeticket.evento.index.SugerenciaIndex;
 import com.capgeticket.evento.model.Evento;
 import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.util.Normalizador;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EventoServiceImpl implements EventoService{
 
     private static final Logger logger = LoggerFactory.getLogger(EventoServiceImpl.class);
 
+    /** Tamaño máximo de página permitido en la paginación por cursor. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Número máximo de sugerencias por petición de autocompletado. */
+    public static final int MAX_SUGGEST_SIZE = 20;
+
+    /** Mayor precio que cabe en las columnas de precio, NUMERIC(10, 2). */
+    static final BigDecimal PRECIO_MAXIMO = new BigDecimal("99999999.99");
+
+    /** Fecha desde la que se busca cuando no se indica el comienzo del rango. */
+    static final LocalDate SIN_FECHA_INICIAL = LocalDate.of(1, 1, 1);
+
+    /** Fecha hasta la que se busca cuando no se indica el final del rango. */
+    static final LocalDate SIN_FECHA_FINAL = LocalDate.of(9999, 12, 31);
+
+    /** Número máximo de ids por petición de búsqueda en lote. */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /** Número máximo de eventos por petición de alta masiva. */
+    public static final int MAX_BULK_SIZE = 5000;
+
+    /** Número máximo de cambios por petición de sincronización incremental. */
+    public static final int MAX_CHANGES_SIZE = 1000;
+
+    /** Número máximo de ids por consulta IN al resolver los resultados de un índice. */
+    private static final int IN_CHUNK_SIZE = 1000;
+
     @Autowired
     private EventoRepository repository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private NombreIndex nombreIndex;
+
+    @Autowired
+    private SugerenciaIndex sugerenciaIndex;
+
+    @Autowired
+    private FacetaIndex facetaIndex;
+
+    @Autowired
+    private ProximosIndex proximosIndex;
+
     /**
      * Obtener todos los eventos.
      *
      * @return una lista de todos los eventos en formato EventoDto.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EventoDto> findAll() {
-        logger.info("Iniciando la búsqueda de todos los eventos en EventoServiceImpl");
+        logger.debug("Iniciando la búsqueda de todos los eventos en EventoServiceImpl");
 
-        List<Evento> eventos = repository.findAllMostrar();
-        List<EventoDto> eventoDtos = EventoDto.of(eventos);
+        List<EventoDto> eventoDtos = repository.findAllMostrar();
 
         logger.info("Eventos encontrados: {} en EventoServiceImpl", eventoDtos.size());
 
         return eventoDtos;
     }
+
+    /**
+     * Obtiene una página de eventos visibles usando paginación por cursor.
+     * Se pide un elemento más del límite para saber si existe una página siguiente
+     * sin necesidad de ejecutar un COUNT.
+     *
+     * @param after cursor devuelto en la página anterior, o null para la primera página.
+     * @param limit número máximo de eventos de la página (entre 1 y {@value #MAX_PAGE_SIZE}).
+     * @return la página con los eventos y el cursor de la siguiente, null si no hay más.
+     * @throws IllegalArgumentException si el límite está fuera de rango o el cursor no es válido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventoPageDto findPage(String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        long afterId = (after == null || after.isBlank()) ? 0L : EventoPageDto.decodeCursor(after);
+        logger.info("Buscando página de eventos después del id {} con límite {}", afterId, limit);
+
+        List<EventoDto> eventos = repository.findPageMostrar(afterId, Limit.of(limit + 1));
+
+        String nextCursor = null;
+        if (eventos.size() > limit) {
+            eventos = eventos.subList(0, limit);
+            nextCursor = EventoPageDto.encodeCursor(eventos.getLast().getId());
+        }
+
+        return EventoPageDto.of(eventos, nextCursor);
+    }
+
+    /**
+     * Recorre todos los eventos visibles y los entrega uno a uno al consumidor.
+     * Cada entidad se separa del contexto de persistencia en cuanto se ha convertido a DTO,
+     * de modo que la memoria usada no crece con el número de eventos exportados.
+     *
+     * @param consumer destino de cada evento, normalmente el escritor de la respuesta HTTP.
+     * @return el número de eventos exportados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<EventoDto> consumer) {
+        logger.debug("Iniciando la exportación de eventos en EventoServiceImpl");
+
+        long total = 0;
+        try (Stream<Evento> eventos = repository.streamAllMostrar()) {
+            for (Evento evento : (Iterable<Evento>) eventos::iterator) {
+                consumer.accept(EventoDto.of(evento));
+                entityManager.detach(evento);
+                total++;
+            }
+        }
+
+        logger.info("Eventos exportados: {} en EventoServiceImpl", total);
+        return total;
+    }
+
+    /**
+     * Obtiene los eventos modificados desde la marca dada, para que los clientes no tengan
+     * que descargar el catálogo completo. Los eventos ocultos se devuelven solo por id,
+     * como eliminados. Se pide un elemento más del límite para saber si quedan cambios.
+     *
+     * @param since marca devuelta por la petición anterior, o null para obtener todos los eventos.
+     * @param limit número máximo de cambios (entre 1 y {@value #MAX_CHANGES_SIZE}).
+     * @return los cambios y la marca desde la que continuar.
+     * @throws IllegalArgumentException si el límite está fuera de rango o la marca no es válida.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventoCambiosDto findChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_CHANGES_SIZE);
+        }
+        EventoCambiosDto.Marca marca = (since == null || since.isBlank())
+                ? EventoCambiosDto.Marca.INICIO
+                : EventoCambiosDto.decodeSince(since);
+        logger.debug("Buscando cambios de eventos desde {}", marca);
+
+        List<EventoDto> cambios = repository.findCambios(marca.cambio(), marca.id(), Limit.of(limit + 1));
+
+        boolean hasMore = cambios.size() > limit;
+        if (hasMore) {
+            cambios = cambios.subList(0, limit);
+        }
+        List<EventoDto> eventos = new ArrayList<>(cambios.size());
+        List<Long> eliminados = new ArrayList<>();
+        for (EventoDto cambio : cambios) {
+            if (Boolean.TRUE.equals(cambio.getMostrar())) {
+                eventos.add(cambio);
+            } else {
+                eliminados.add(cambio.getId());
+            }
+        }
+        if (!cambios.isEmpty()) {
+            EventoDto ultimo = cambios.getLast();
+            marca = new EventoCambiosDto.Marca(ultimo.getCambio(), ultimo.getId());
+        }
+
+        logger.info("Cambios encontrados: {} modificados y {} eliminados", eventos.size(), eliminados.size());
+        return EventoCambiosDto.of(eventos, eliminados, EventoCambiosDto.encodeSince(marca), hasMore);
+    }
+
     /**
      * Agrega un nuevo evento a la base de datos.
      *
@@ -46,13 +235,103 @@ public class EventoServiceImpl implements EventoService{
      * @throws IllegalArgumentException Si el eventoDto es nulo o inválido.
      */
     @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.EVENTOS_CACHE, key = "#result.id")
     public EventoDto add(EventoDto eventoDto) {
         if (eventoDto == null) {
-            throw new IllegalArgumentException("El evento no puede ser nulo");
+            throw new SolicitudIncorrectaException("El evento no puede ser nulo");
+        }
+        Evento evento = Evento.of(eventoDto, false);
+        EventoDto savedEvento = EventoDto.of(repository.save(evento));
+        eventPublisher.publishEvent(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, savedEvento.getId(), savedEvento));
+        return savedEvento;
+    }
+
+    /**
+     * Agrega varios eventos en una sola transacción, para importaciones de promotores.
+     * Se valida toda la lista antes de insertar nada: los campos obligatorios no pueden
+     * faltar ni estar en blanco y el precio mínimo no puede superar al máximo. Los ids se
+     * toman de la secuencia por bloques, así que Hibernate agrupa las inserciones en lotes
+     * JDBC; el contexto de persistencia se vacía tras cada lote para no acumular todas las
+     * entidades en memoria.
+     * Se publica un único {@link EventosCreadosEvent} con todos los eventos creados.
+     *
+     * @param eventos los eventos a agregar, como máximo {@value #MAX_BULK_SIZE}.
+     * @return los ids generados, en el mismo orden que los eventos.
+     * @throws IllegalArgumentException si la lista está vacía, supera el máximo o algún evento no es válido.
+     */
+    @Override
+    @Transactional
+    public List<Long> addAll(List<EventoDto> eventos) {
+        if (eventos == null || eventos.isEmpty() || eventos.size() > MAX_BULK_SIZE) {
+            throw new SolicitudIncorrectaException("Se deben enviar entre 1 y " + MAX_BULK_SIZE + " eventos");
+        }
+        for (int i = 0; i < eventos.size(); i++) {
+            String motivo = motivoNoValido(eventos.get(i));
+            if (motivo != null) {
+                throw new SolicitudIncorrectaException("El evento en la posición " + i + " no es válido: " + motivo);
+            }
+        }
+        logger.info("Agregando {} eventos en lote", eventos.size());
+
+        List<Long> ids = new ArrayList<>(eventos.size());
+        List<EventoDto> creados = new ArrayList<>(eventos.size());
+        for (int i = 0; i < eventos.size(); i += Evento.ID_ALLOCATION_SIZE) {
+            List<Evento> lote = eventos.subList(i, Math.min(i + Evento.ID_ALLOCATION_SIZE, eventos.size())).stream()
+                    .map(eventoDto -> Evento.of(eventoDto, false))
+                    .toList();
+            List<Evento> guardados = repository.saveAll(lote);
+            entityManager.flush();
+            for (Evento evento : guardados) {
+                EventoDto savedEvento = EventoDto.of(evento);
+                ids.add(savedEvento.getId());
+                creados.add(savedEvento);
+            }
+            entityManager.clear();
+        }
+        eventPublisher.publishEvent(new EventosCreadosEvent(creados));
+
+        logger.info("Eventos agregados en lote: {}", ids.size());
+        return ids;
+    }
+
+    /**
+     * @return el motivo por el que el evento no es válido, o null si es correcto. Los campos
+     * de texto en blanco se tratan como ausentes.
+     */
+    private static String motivoNoValido(EventoDto evento) {
+        if (evento == null) {
+            return "falta el evento";
+        } else if (vacio(evento.getNombre())) {
+            return "falta nombre";
+        } else if (vacio(evento.getDescripcion())) {
+            return "falta descripcion";
+        } else if (evento.getFechaEvento() == null) {
+            return "falta fechaEvento";
+        } else if (evento.getPrecioMinimo() == null) {
+            return "falta precioMinimo";
+        } else if (evento.getPrecioMaximo() == null) {
+            return "falta precioMaximo";
+        } else if (vacio(evento.getLocalidad())) {
+            return "falta localidad";
+        } else if (vacio(evento.getNombreDelRecinto())) {
+            return "falta nombreDelRecinto";
+        } else if (vacio(evento.getGenero())) {
+            return "falta genero";
+        } else if (evento.getMostrar() == null) {
+            return "falta mostrar";
+        } else if (evento.getPrecio() == null) {
+            return "falta precio";
+        } else if (evento.getPrecioMinimo().compareTo(evento.getPrecioMaximo()) > 0) {
+            return "precioMinimo es mayor que precioMaximo";
         }
-        Evento savedEvento = repository.save(Evento.of(eventoDto, false));
-        return EventoDto.of(savedEvento);
+        return null;
     }
+
+    private static boolean vacio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
     /**
      * Verifica si un evento con el ID dado existe.
      *
@@ -65,17 +344,23 @@ public class EventoServiceImpl implements EventoService{
     }
 
     /**
-     * Verifica si un evento con el ID dado existe y lo elimina si es encontrado.
+     * Elimina (borrado lógico) el evento con el ID dado.
+     * Se ejecuta un único UPDATE y las filas afectadas indican si el evento existía,
+     * de modo que no hace falta comprobar antes su existencia. Si existía, se lee su
+     * estado nuevo para notificarlo junto con el cambio.
      *
      * @param id El ID del evento a eliminar.
      * @return true si el evento fue eliminado correctamente, false si no fue encontrado.
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EVENTOS_CACHE, key = "#id")
     public boolean deleteById(Long id) {
-        logger.info("Intentando eliminar el evento con ID: {} en EventoServiceImpl", id);
+        logger.debug("Intentando eliminar el evento con ID: {} en EventoServiceImpl", id);
 
-        if (existsById(id)) {
-            repository.deleteById(id);
+        if (repository.softDeleteById(id) > 0) {
+            EventoDto oculto = repository.findByIdIn(List.of(id)).get(0);
+            eventPublisher.publishEvent(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.ELIMINADO, id, oculto));
             logger.info("Evento con ID {} eliminado exitosamente en EventoServiceImpl", id);
             return true;
         } else {
@@ -86,41 +371,316 @@ public class EventoServiceImpl implements EventoService{
     }
 
     /**
-     * Obtiene un evento determinado por su id
+     * Obtiene un evento determinado por su id.
+     * El resultado se guarda en la caché de eventos, por lo que solo se consulta la
+     * base de datos la primera vez o cuando la entrada ha sido invalidada o ha caducado.
+     * Es la única caché de las búsquedas por id; la entidad no está en la de segundo nivel.
      *
      * @param id la id del evento que se quiere buscar
      * @return un objeto EventoDto con los datos del evento
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.EVENTOS_CACHE, key = "#id")
     public EventoDto findById(Long id) {
-        logger.info("Iniciando la busqueda de el evento con id = " + id);
+        logger.debug("Iniciando la busqueda de el evento con id = {}", id);
 
         EventoDto event = null;
         //Se puede hacer un metodo nuevo que sea findById que acepte long
         Optional<Evento> e = repository.findById(id);
-        logger.info("Evento encontrado: {}", e.isPresent());
+        logger.debug("Evento encontrado: {}", e.isPresent());
 
         return EventoDto.of(e.orElseThrow(() -> new EventoNotFoundException(id)));
     }
 
+    /**
+     * Obtiene varios eventos por su id en una sola llamada.
+     * Los que están en la caché de eventos se toman de ella y el resto se obtienen con una
+     * única consulta IN, guardándolos después en la caché igual que {@link #findById(Long)}.
+     *
+     * @param ids los ids de los eventos, como máximo {@value #MAX_BATCH_SIZE}; los repetidos se devuelven una vez.
+     * @return los eventos encontrados en el orden pedido y los ids que no existen.
+     * @throws IllegalArgumentException si la lista está vacía, contiene nulos o supera el máximo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventoBatchDto findBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new SolicitudIncorrectaException("Se deben pedir entre 1 y " + MAX_BATCH_SIZE + " ids");
+        }
+        logger.debug("Buscando {} eventos por id", ids.size());
+
+        Cache cache = cacheManager.getCache(CacheConfig.EVENTOS_CACHE);
+        Map<Long, EventoDto> encontrados = new LinkedHashMap<>();
+        List<Long> pendientes = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                throw new SolicitudIncorrectaException("Los ids no pueden ser nulos");
+            }
+            EventoDto cacheado = cache == null ? null : cache.get(id, EventoDto.class);
+            encontrados.put(id, cacheado);
+            if (cacheado == null) {
+                pendientes.add(id);
+            }
+        }
+
+        if (!pendientes.isEmpty()) {
+            for (EventoDto evento : repository.findByIdIn(pendientes)) {
+                encontrados.put(evento.getId(), evento);
+                if (cache != null) {
+                    cache.put(evento.getId(), evento);
+                }
+            }
+        }
+
+        List<EventoDto> eventos = new ArrayList<>(encontrados.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        encontrados.forEach((id, evento) -> {
+            if (evento == null) {
+                noEncontrados.add(id);
+            } else {
+                eventos.add(evento);
+            }
+        });
+        logger.debug("Eventos en caché: {}, consultados: {}, no encontrados: {}",
+                encontrados.size() - pendientes.size(), pendientes.size(), noEncontrados.size());
+
+        return EventoBatchDto.of(eventos, noEncontrados);
+    }
+
     /**
      * Busca eventos por nombre, ignorando mayúsculas y minúsculas.
+     * Si el índice de nombres está listo se obtienen de él los ids y se cargan por clave
+     * primaria; si no, se busca con LIKE en la base de datos.
      *
      * @param name el nombre del evento a buscar; no puede ser nulo o vacío
      * @return una lista de {@link EventoDto} que coinciden con el nombre proporcionado
      * @throws EventoNotFoundException si no se encuentran eventos que coincidan con el nombre proporcionado
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EventoDto> findByName(String name) {
-        logger.info(name);
+        logger.debug("Buscando eventos por nombre: {}", name);
 
-        List<Evento> eventos = repository.findByNombreContainingIgnoreCase(name);
+        List<EventoDto> eventos = nombreIndex.isListo()
+                ? nombreIndex.buscar(name)
+                : repository.findByNombre(name);
 
         if (eventos.isEmpty()) {
-            throw new EventoNotFoundException("No existen eventos con ese nombre");
+            throw EventoNotFoundException.SIN_COINCIDENCIAS_NOMBRE;
+        }
+
+        return eventos;
+    }
+
+    /**
+     * Sugiere eventos visibles para el autocompletado a partir de lo que lleva escrito el usuario.
+     * Si el índice de sugerencias está listo se responde desde memoria, comparando con el
+     * comienzo de cada palabra del nombre sin tildes; si no, se consulta la base de datos
+     * comparando solo con el comienzo del nombre.
+     *
+     * @param prefix el texto escrito por el usuario.
+     * @param limit  número máximo de sugerencias (entre 1 y {@value #MAX_SUGGEST_SIZE}).
+     * @return el id y el nombre de los eventos sugeridos, primero los próximos.
+     * @throws IllegalArgumentException si el prefijo está vacío o el límite está fuera de rango.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventoNombreDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new SolicitudIncorrectaException("El prefijo no puede ser nulo o vacío");
+        }
+        if (limit < 1 || limit > MAX_SUGGEST_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_SUGGEST_SIZE);
+        }
+
+        if (sugerenciaIndex.isListo()) {
+            return sugerenciaIndex.sugerir(prefix, limit, LocalDate.now());
+        }
+        return repository.findSugerencias(prefix.stripLeading(), Limit.of(limit));
+    }
+
+    /**
+     * Búsqueda facetada de eventos visibles por localidad, género, fecha y precio.
+     * Los ids de la página y los recuentos de cada faceta se obtienen del índice de facetas
+     * y los eventos de la página se cargan después por clave primaria; mientras no está listo
+     * se consultan a la base de datos la página y los recuentos agrupados.
+     *
+     * @param filtro los filtros de la búsqueda; los que son nulos no se aplican.
+     * @param after  cursor devuelto por la página anterior, o null para la primera.
+     * @param limit  número máximo de eventos de la página (entre 1 y {@value #MAX_PAGE_SIZE}).
+     * @return la página de eventos ordenada por id, el cursor siguiente y las facetas.
+     * @throws IllegalArgumentException si el cursor no es válido o algún parámetro está fuera de rango.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventoBusquedaDto search(EventoFiltroDto filtro, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (filtro == null) {
+            filtro = new EventoFiltroDto();
+        }
+        if (filtro.getDesde() != null && filtro.getHasta() != null && filtro.getDesde().isAfter(filtro.getHasta())) {
+            throw new SolicitudIncorrectaException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+        if (filtro.getPrecioMin() != null && filtro.getPrecioMax() != null
+                && filtro.getPrecioMin().compareTo(filtro.getPrecioMax()) > 0) {
+            throw new SolicitudIncorrectaException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+        long afterId = (after == null || after.isBlank()) ? 0L : EventoPageDto.decodeCursor(after);
+
+        if (!facetaIndex.isListo()) {
+            return buscarSinIndice(filtro, afterId, limit);
+        }
+        FacetaIndex.Resultado resultado = facetaIndex.buscar(filtro, afterId, limit);
+        List<EventoDto> eventos = findByIds(resultado.ids());
+        String nextCursor = resultado.hayMas() ? EventoPageDto.encodeCursor(resultado.ids().getLast()) : null;
+        return EventoBusquedaDto.of(eventos, nextCursor, resultado.total(),
+                resultado.localidades(), resultado.generos(), resultado.precios());
+    }
+
+    /**
+     * Búsqueda facetada en la base de datos, mientras el índice no está listo: una consulta
+     * para la página, paginada por id, otra para el total y una por faceta, agrupando por las
+     * columnas de clave. Los filtros ausentes se sustituyen por límites que no filtran nada.
+     */
+    private EventoBusquedaDto buscarSinIndice(EventoFiltroDto filtro, long afterId, int limit) {
+        EventoRepository.Busqueda busqueda = new EventoRepository.Busqueda(
+                claves(filtro.getLocalidad()), claves(filtro.getGenero()),
+                filtro.getDesde() != null ? filtro.getDesde() : SIN_FECHA_INICIAL,
+                filtro.getHasta() != null ? filtro.getHasta() : SIN_FECHA_FINAL,
+                filtro.getPrecioMin() != null ? filtro.getPrecioMin() : PRECIO_MAXIMO.negate(),
+                filtro.getPrecioMax() != null ? filtro.getPrecioMax() : PRECIO_MAXIMO);
+
+        List<EventoDto> eventos = repository.findBusqueda(busqueda, afterId, Limit.of(limit + 1));
+        String nextCursor = null;
+        if (eventos.size() > limit) {
+            eventos = eventos.subList(0, limit);
+            nextCursor = EventoPageDto.encodeCursor(eventos.getLast().getId());
         }
 
-        return EventoDto.of(eventos);
+        Comparator<EventoRecuentoDto> porTotal = Comparator.comparing(EventoRecuentoDto::getTotal).reversed()
+                .thenComparing(EventoRecuentoDto::getValor);
+        return EventoBusquedaDto.of(eventos, nextCursor, Math.toIntExact(repository.countBusqueda(busqueda)),
+                recuentos(repository.countBusquedaPorLocalidad(busqueda), porTotal),
+                recuentos(repository.countBusquedaPorGenero(busqueda), porTotal),
+                recuentos(repository.countBusquedaPorPrecio(busqueda),
+                        Comparator.comparingInt(r -> FacetaIndex.NOMBRES_BANDAS.indexOf(r.getValor()))));
+    }
+
+    /**
+     * @return las claves normalizadas de los valores de un filtro, o una lista vacía si no se filtra.
+     */
+    private static List<String> claves(List<String> valores) {
+        if (valores == null) {
+            return List.of();
+        }
+        return valores.stream()
+                .map(valor -> Objects.requireNonNullElse(Normalizador.clave(valor), ""))
+                .distinct()
+                .toList();
+    }
+
+    private static Map<String, Integer> recuentos(List<EventoRecuentoDto> recuentos, Comparator<EventoRecuentoDto> orden) {
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        recuentos.stream().sorted(orden).forEach(r -> resultado.put(r.getValor(), Math.toIntExact(r.getTotal())));
+        return resultado;
+    }
+
+    /**
+     * Eventos visibles con alguna entrada en el rango de precios dado, paginados por cursor.
+     * Si el índice de facetas está listo la comparación se hace en memoria con los precios en
+     * céntimos y los eventos de la página se cargan por clave primaria; si no, se consulta
+     * la base de datos.
+     *
+     * @param min   precio mínimo incluido; si es nulo, sin límite inferior.
+     * @param max   precio máximo incluido; si es nulo, sin límite superior.
+     * @param after cursor devuelto en la página anterior, o null para la primera página.
+     * @param limit número máximo de eventos de la página (entre 1 y {@value #MAX_PAGE_SIZE}).
+     * @return la página con los eventos y el cursor de la siguiente, null si no hay más.
+     * @throws IllegalArgumentException si el rango está invertido, el límite está fuera de rango o el cursor no es válido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventoPageDto findByPrice(BigDecimal min, BigDecimal max, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new SolicitudIncorrectaException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+        long afterId = (after == null || after.isBlank()) ? 0L : EventoPageDto.decodeCursor(after);
+        logger.debug("Buscando eventos con precios entre {} y {} después del id {}", min, max, afterId);
+
+        List<EventoDto> eventos;
+        if (facetaIndex.isListo()) {
+            eventos = findByIds(facetaIndex.buscarPorPrecio(
+                    min == null ? -Long.MAX_VALUE : Centimos.de(min, RoundingMode.CEILING),
+                    max == null ? Long.MAX_VALUE : Centimos.de(max, RoundingMode.FLOOR),
+                    afterId, limit));
+        } else {
+            eventos = repository.findPorPrecio(min == null ? PRECIO_MAXIMO.negate() : min,
+                    max == null ? PRECIO_MAXIMO : max, afterId, Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (eventos.size() > limit) {
+            eventos = eventos.subList(0, limit);
+            nextCursor = EventoPageDto.encodeCursor(eventos.getLast().getId());
+        }
+
+        return EventoPageDto.of(eventos, nextCursor);
+    }
+
+    /**
+     * Eventos visibles entre dos fechas, opcionalmente en una localidad, en orden de fecha.
+     * Si el índice de próximos eventos está listo se obtienen de él los ids y se cargan por
+     * clave primaria; si no, se consulta el rango en la base de datos.
+     *
+     * @param from      primera fecha incluida; si es nula, hoy.
+     * @param to        última fecha incluida; si es nula, sin límite.
+     * @param localidad la localidad, sin distinguir mayúsculas ni tildes, o null para todas.
+     * @param limit     número máximo de eventos (entre 1 y {@value #MAX_PAGE_SIZE}).
+     * @return los eventos ordenados por fecha y después por id.
+     * @throws IllegalArgumentException si el rango está invertido o el límite está fuera de rango.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventoDto> findUpcoming(LocalDate from, LocalDate to, String localidad, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new SolicitudIncorrectaException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        LocalDate desde = from != null ? from : LocalDate.now();
+        LocalDate hasta = to != null ? to : SIN_FECHA_FINAL;
+        if (desde.isAfter(hasta)) {
+            throw new SolicitudIncorrectaException("La fecha from no puede ser posterior a la fecha to");
+        }
+        if (localidad != null && localidad.isBlank()) {
+            localidad = null;
+        }
+        logger.debug("Buscando eventos entre {} y {} en {}", desde, hasta, localidad);
+
+        if (proximosIndex.isListo()) {
+            List<Long> ids = proximosIndex.buscar(desde, hasta, localidad, limit);
+            Map<Long, EventoDto> porId = new HashMap<>();
+            findByIds(ids).forEach(e -> porId.put(e.getId(), e));
+            return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+        }
+        return localidad == null
+                ? repository.findProximos(desde, hasta, Limit.of(limit))
+                : repository.findProximosEnLocalidad(Normalizador.clave(localidad), desde, hasta, Limit.of(limit));
+    }
+
+    /**
+     * Carga los eventos con los ids dados en bloques, para no superar el número de
+     * parámetros que admite la base de datos en una consulta.
+     */
+    private List<EventoDto> findByIds(List<Long> ids) {
+        List<EventoDto> eventos = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += IN_CHUNK_SIZE) {
+            eventos.addAll(repository.findByIdIn(ids.subList(i, Math.min(i + IN_CHUNK_SIZE, ids.size()))));
+        }
+        return eventos;
     }
 
     /**
@@ -131,17 +691,18 @@ public class EventoServiceImpl implements EventoService{
      * @throws EventoNotFoundException Si no se encuentran eventos en la ciudad.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EventoDto> findByCity(String city) {
         logger.info("Buscando eventos en la ciudad: {} en EventoServiceImpl", city);
 
-        List<Evento> eventos = repository.findByCity(city);
+        List<EventoDto> eventos = repository.findByCity(city);
 
         if (eventos.isEmpty()) {
             logger.error("No se encontraron eventos en la ciudad: {}. Lanzando EventoNotFoundException.", city);
             throw new EventoNotFoundException("No se encontraron eventos en la ciudad en EventoServiceImpl" + city);
         }
 
-        return eventos.stream().map(EventoDto::of).collect(Collectors.toList());
+        return eventos;
     }
 
     /**
@@ -153,38 +714,63 @@ public class EventoServiceImpl implements EventoService{
      * @throws EventoNotFoundException si no se encuentran eventos con el género especificado.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EventoDto> findByGenre(String genre) {
         logger.info("Buscando eventos con el género: {}", genre);
 
         if (genre == null || genre.trim().isEmpty()) {
-            throw new IllegalArgumentException("El género no puede ser nulo o vacío");
+            throw new SolicitudIncorrectaException("El género no puede ser nulo o vacío");
         }
 
-        List<Evento> eventos = repository.findByGenero(genre);
+        List<EventoDto> eventos = repository.findByGenero(genre);
 
         if (eventos.isEmpty()) {
             throw new EventoNotFoundException("No existen eventos con el género: " + genre);
         }
 
         logger.info("Eventos encontrados: {}", eventos.size());
-        return EventoDto.of(eventos);
+        return eventos;
     }
 
     /**
-     * Edición del evento
+     * Edición del evento.
+     * Se ejecuta un único UPDATE sin leer antes el evento. Si el DTO trae versión se usa
+     * como bloqueo optimista y la copia devuelta lleva la versión nueva; si no la trae se
+     * sobrescribe el evento sin comprobarla y la versión devuelta es null.
+     *
      * @param eventoDto el evento a editar
      * @return una copia del evento editado
+     * @throws EventoNotFoundException si el evento no existe
+     * @throws ObjectOptimisticLockingFailureException si la versión no coincide con la guardada
      */
     @Override
+    @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.EVENTOS_CACHE, key = "#result.id", unless = "#result.version == null"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EVENTOS_CACHE, key = "#eventoDto.id", condition = "#eventoDto.version == null"))
     public EventoDto edit(EventoDto eventoDto) {
-        //Primero miramos a ver si el evento existe en nuestro sistema
-        if(eventoDto.getId() == null || !repository.existsById(eventoDto.getId())) {
+        if (eventoDto.getId() == null) {
+            logger.warn("El evento no tiene ID");
+            throw EventoNotFoundException.NO_EXISTE;
+        }
+
+        Evento evento = Evento.of(eventoDto, true);
+        if (repository.updateEvento(evento) == 0) {
+            // Solo en el caso de fallo se distingue entre evento inexistente y conflicto de versión
+            if (eventoDto.getVersion() != null && repository.existsById(eventoDto.getId())) {
+                logger.warn("El evento con ID {} ha sido modificado por otra petición", eventoDto.getId());
+                throw new ObjectOptimisticLockingFailureException(Evento.class, eventoDto.getId());
+            }
             logger.warn("El evento con ID {} no existe", eventoDto.getId());
-            throw new EventoNotFoundException();
+            throw EventoNotFoundException.NO_EXISTE;
+        }
+
+        if (evento.getVersion() != null) {
+            evento.setVersion(evento.getVersion() + 1);
         }
-        Evento editedEvento = repository.save(Evento.of(eventoDto, true));
-        logger.info("Evento editado: {}", editedEvento);
-        return EventoDto.of(editedEvento);
+        logger.info("Evento editado: {}", evento);
+        EventoDto editado = EventoDto.of(evento);
+        eventPublisher.publishEvent(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, editado.getId(), editado));
+        return editado;
     }
 
 }
@@ -0,0 +1,24 @@
+package com.capgeticket.evento.service;
+
+import com.capgeticket.evento.dto.EventoDto;
+
+import java.util.List;
+
+/**
+ * Evento de aplicación publicado por {@link EventoServiceImpl} una sola vez por cada alta
+ * en lote, en lugar de un {@link EventoCambiadoEvent} por fila. Así una importación de miles
+ * de eventos es un único mensaje para los clientes del canal de cambios y no llena sus colas.
+ *
+ * @param eventos los eventos creados, en el orden en que se recibieron.
+ */
+public record EventosCreadosEvent(List<EventoDto> eventos) {
+
+    /**
+     * @return un {@link EventoCambiadoEvent} de tipo CREADO por cada evento del lote.
+     */
+    public List<EventoCambiadoEvent> cambios() {
+        return eventos.stream()
+                .map(evento -> new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, evento.getId(), evento))
+                .toList();
+    }
+}
@@ -0,0 +1,261 @@
+package com.capgeticket.evento.stream;
+
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventosCreadosEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Canal de cambios de eventos por Server-Sent Events, para que los clientes no tengan que
+ * consultar periódicamente la lista de eventos.
+ * <p>
+ * Cada {@link EventoCambiadoEvent} confirmado recibe un id consecutivo y se guarda en un
+ * búfer circular con los últimos {@code evento.stream.replay-size} cambios. Un cliente que se
+ * reconecta con la cabecera {@code Last-Event-ID} recibe primero los cambios posteriores a ese
+ * id; si ya no están en el búfer, o el id es de otra instancia o de un arranque anterior,
+ * recibe un mensaje {@code reset} para que vuelva a cargar la lista completa.
+ * <p>
+ * Los cambios se encolan para cada cliente en una cola acotada que vacía un hilo virtual
+ * propio, de modo que un cliente lento nunca bloquea el commit ni a los demás clientes. Si
+ * su cola se llena se le desconecta, y al reconectarse retoma desde el búfer. Un alta en lote
+ * ({@link EventosCreadosEvent}) ocupa un único mensaje {@value #CREADOS}, por grande que sea.
+ */
+@Component
+public class FeedCambios {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedCambios.class);
+
+    /** Nombre del mensaje que indica al cliente que debe volver a cargar la lista completa. */
+    public static final String RESET = "reset";
+
+    /** Nombre del mensaje con todos los eventos de un alta en lote. */
+    public static final String CREADOS = "CREADOS";
+
+    /** Distingue los ids de este arranque de los de otras instancias o arranques anteriores. */
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    @Value("${evento.stream.replay-size:1000}")
+    private int replaySize = 1000;
+
+    @Value("${evento.stream.client-queue-size:256}")
+    private int clientQueueSize = 256;
+
+    @Value("${evento.stream.heartbeat:30s}")
+    private Duration heartbeat = Duration.ofSeconds(30);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Últimos cambios publicados, del más antiguo al más reciente. */
+    private final ArrayDeque<Cambio> buffer = new ArrayDeque<>();
+
+    private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+
+    private long secuencia = 0;
+
+    /**
+     * Un cambio numerado del canal.
+     *
+     * @param secuencia el número consecutivo del cambio en este arranque.
+     * @param nombre    el nombre del mensaje.
+     * @param datos     el cambio publicado por el servicio.
+     */
+    record Cambio(long secuencia, String nombre, Object datos) {
+    }
+
+    /**
+     * Registra un cliente en el canal.
+     *
+     * @param lastEventId el último id recibido por el cliente, o null si se conecta por primera vez.
+     * @param emitter     la conexión SSE del cliente.
+     * @return la misma conexión, para devolverla desde el controlador.
+     */
+    public SseEmitter suscribir(String lastEventId, SseEmitter emitter) {
+        Suscripcion suscripcion;
+        lock.lock();
+        try {
+            // Con el cerrojo ningún cambio puede colarse entre la repetición y la cola
+            List<Cambio> repetir = new ArrayList<>();
+            boolean reset = false;
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long desde = secuenciaDe(lastEventId);
+                Cambio primero = buffer.peekFirst();
+                if (desde < 0 || desde > secuencia || (primero != null && desde < primero.secuencia() - 1)
+                        || (primero == null && desde < secuencia)) {
+                    reset = true;
+                } else {
+                    for (Cambio cambio : buffer) {
+                        if (cambio.secuencia() > desde) {
+                            repetir.add(cambio);
+                        }
+                    }
+                }
+            }
+            suscripcion = new Suscripcion(emitter, repetir, reset);
+            suscripciones.add(suscripcion);
+        } finally {
+            lock.unlock();
+        }
+
+        emitter.onCompletion(suscripcion::cerrar);
+        emitter.onTimeout(suscripcion::cerrar);
+        emitter.onError(e -> suscripcion.cerrar());
+        Thread.ofVirtual().name("feed-cambios").start(suscripcion::enviar);
+        logger.debug("Cliente suscrito al canal de cambios, clientes: {}", suscripciones.size());
+        return emitter;
+    }
+
+    /**
+     * Numera el cambio una vez confirmada la transacción, lo guarda en el búfer y lo encola
+     * para cada cliente.
+     *
+     * @param evento el cambio publicado por el servicio.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventoCambiado(EventoCambiadoEvent evento) {
+        publicar(evento.tipo().name(), evento);
+    }
+
+    /**
+     * Publica un alta en lote como un único cambio, una vez confirmada la transacción.
+     *
+     * @param creados los eventos creados por el servicio.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventosCreados(EventosCreadosEvent creados) {
+        publicar(CREADOS, creados);
+    }
+
+    private void publicar(String nombre, Object datos) {
+        lock.lock();
+        try {
+            Cambio cambio = new Cambio(++secuencia, nombre, datos);
+            buffer.addLast(cambio);
+            if (buffer.size() > replaySize) {
+                buffer.removeFirst();
+            }
+            for (Suscripcion suscripcion : suscripciones) {
+                if (!suscripcion.cola.offer(cambio)) {
+                    logger.warn("Cliente del canal de cambios desconectado por no leer a tiempo");
+                    suscripcion.desconectar();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return el número de clientes conectados.
+     */
+    public int getClientes() {
+        return suscripciones.size();
+    }
+
+    private String idDe(Cambio cambio) {
+        return arranque + ":" + cambio.secuencia();
+    }
+
+    /**
+     * @return la secuencia del id si es de este arranque, o -1 si no lo es o no es válido.
+     */
+    private long secuenciaDe(String lastEventId) {
+        String prefijo = arranque + ":";
+        if (!lastEventId.startsWith(prefijo)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(prefijo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Un cliente conectado, con su cola acotada y el hilo que la vacía.
+     */
+    private class Suscripcion {
+
+        private final SseEmitter emitter;
+        private final List<Cambio> repetir;
+        private final boolean reset;
+        private final BlockingQueue<Cambio> cola = new ArrayBlockingQueue<>(clientQueueSize);
+        private volatile boolean cerrada = false;
+        private volatile Thread hilo;
+
+        Suscripcion(SseEmitter emitter, List<Cambio> repetir, boolean reset) {
+            this.emitter = emitter;
+            this.repetir = repetir;
+            this.reset = reset;
+        }
+
+        void enviar() {
+            hilo = Thread.currentThread();
+            if (cerrada) {
+                return;
+            }
+            try {
+                if (reset) {
+                    emitter.send(SseEmitter.event().name(RESET).data(RESET));
+                }
+                for (Cambio cambio : repetir) {
+                    enviar(cambio);
+                }
+                while (!cerrada) {
+                    Cambio cambio = cola.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (cambio != null) {
+                        enviar(cambio);
+                    } else if (!cerrada) {
+                        // Comentario vacío para detectar conexiones caídas y que los proxies no la cierren
+                        emitter.send(SseEmitter.event().comment(""));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Cliente del canal de cambios desconectado: {}", e.getMessage());
+                cerrar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void enviar(Cambio cambio) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(idDe(cambio))
+                    .name(cambio.nombre())
+                    .data(cambio.datos(), MediaType.APPLICATION_JSON));
+        }
+
+        /** Cierra la conexión de un cliente que no lee a tiempo; podrá reconectarse. */
+        void desconectar() {
+            cerrar();
+            emitter.complete();
+        }
+
+        void cerrar() {
+            if (!cerrada) {
+                cerrada = true;
+                suscripciones.remove(this);
+                Thread t = hilo;
+                if (t != null && t != Thread.currentThread()) {
+                    t.interrupt();
+                }
+            }
+        }
+    }
+}
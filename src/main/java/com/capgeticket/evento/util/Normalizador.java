@@ -0,0 +1,59 @@
+package com.capgeticket.evento.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de textos, compartida por las claves guardadas en la base de datos y los
+ * índices en memoria.
+ */
+public final class Normalizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private Normalizador() {
+    }
+
+    /**
+     * Pasa el texto a minúsculas sin depender del locale del sistema.
+     *
+     * @param texto el texto a normalizar, puede ser nulo.
+     * @return el texto en minúsculas, o una cadena vacía si es nulo.
+     */
+    public static String minusculas(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Pasa el texto a minúsculas y le quita tildes y diéresis, de modo que
+     * "Música" y "musica" se comparan como iguales. La ñ se convierte en n.
+     *
+     * @param texto el texto a normalizar, puede ser nulo.
+     * @return el texto plegado, o una cadena vacía si es nulo.
+     */
+    public static String plegar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String minusculas = texto.toLowerCase(Locale.ROOT);
+        // Atajo para el caso habitual de texto ASCII, que no tiene nada que plegar
+        for (int i = 0; i < minusculas.length(); i++) {
+            if (minusculas.charAt(i) > 127) {
+                return MARCAS.matcher(Normalizer.normalize(minusculas, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return minusculas;
+    }
+
+    /**
+     * Clave con la que se comparan los valores de localidad y género: el texto plegado y sin
+     * espacios al principio ni al final, de modo que "Madrid", "madrid " y "Madríd" coinciden.
+     *
+     * @param valor el valor a normalizar, puede ser nulo.
+     * @return la clave del valor, o null si es nulo.
+     */
+    public static String clave(String valor) {
+        return valor == null ? null : plegar(valor).strip();
+    }
+}
@@ -0,0 +1 @@
+ALTER TABLE evento DROP COLUMN IF EXISTS ultimamodificacion;
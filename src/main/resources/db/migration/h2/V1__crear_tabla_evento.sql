@@ -0,0 +1,14 @@
+-- Versión H2 de las migraciones, usada en las pruebas con base de datos en memoria.
+CREATE TABLE IF NOT EXISTS evento (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre           VARCHAR(255)   NOT NULL,
+    descripcion      VARCHAR(255)   NOT NULL,
+    fechaevento      DATE           NOT NULL,
+    preciominimo     NUMERIC(10, 2) NOT NULL,
+    preciomaximo     NUMERIC(10, 2) NOT NULL,
+    localidad        VARCHAR(255)   NOT NULL,
+    nombredelrecinto VARCHAR(255)   NOT NULL,
+    genero           VARCHAR(255)   NOT NULL,
+    mostrar          BOOLEAN        NOT NULL,
+    precio           NUMERIC(10, 2) NOT NULL
+);
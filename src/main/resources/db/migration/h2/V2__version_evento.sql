@@ -0,0 +1 @@
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
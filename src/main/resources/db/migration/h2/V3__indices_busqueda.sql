@@ -0,0 +1,7 @@
+-- H2 no admite índices parciales, de expresión ni de trigramas:
+-- se crean los índices B-tree equivalentes más cercanos.
+CREATE INDEX IF NOT EXISTS idx_evento_visibles_id ON evento (mostrar, id);
+CREATE INDEX IF NOT EXISTS idx_evento_localidad ON evento (localidad);
+CREATE INDEX IF NOT EXISTS idx_evento_genero ON evento (genero);
+CREATE INDEX IF NOT EXISTS idx_evento_fechaevento ON evento (fechaevento);
+CREATE INDEX IF NOT EXISTS idx_evento_nombre ON evento (nombre);
@@ -0,0 +1,5 @@
+-- Secuencia para los ids de evento, igual que en PostgreSQL. En las pruebas la tabla
+-- está vacía al migrar, así que la secuencia puede empezar en 1.
+CREATE SEQUENCE IF NOT EXISTS evento_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE evento ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE evento ALTER COLUMN id SET DEFAULT NEXT VALUE FOR evento_seq;
@@ -0,0 +1,2 @@
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS ultimamodificacion TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_evento_ultimamodificacion ON evento (ultimamodificacion, id);
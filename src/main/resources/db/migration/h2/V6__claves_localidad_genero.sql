@@ -0,0 +1,19 @@
+-- Mismas claves normalizadas que en PostgreSQL. H2 no tiene unaccent, así que se
+-- sustituyen los caracteres acentuados habituales.
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS localidadclave VARCHAR(255);
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS generoclave VARCHAR(255);
+
+UPDATE evento SET
+    localidadclave = LOWER(TRIM(TRANSLATE(localidad,
+        'ÁÀÂÄÃÉÈÊËÍÌÎÏÓÒÔÖÕÚÙÛÜÑÇáàâäãéèêëíìîïóòôöõúùûüñç',
+        'AAAAAEEEEIIIIOOOOOUUUUNCaaaaaeeeeiiiiooooouuuunc'))),
+    generoclave = LOWER(TRIM(TRANSLATE(genero,
+        'ÁÀÂÄÃÉÈÊËÍÌÎÏÓÒÔÖÕÚÙÛÜÑÇáàâäãéèêëíìîïóòôöõúùûüñç',
+        'AAAAAEEEEIIIIOOOOOUUUUNCaaaaaeeeeiiiiooooouuuunc')));
+
+ALTER TABLE evento ALTER COLUMN localidadclave SET NOT NULL;
+ALTER TABLE evento ALTER COLUMN generoclave SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_evento_localidad;
+DROP INDEX IF EXISTS idx_evento_genero;
+CREATE INDEX IF NOT EXISTS idx_evento_generoclave ON evento (generoclave);
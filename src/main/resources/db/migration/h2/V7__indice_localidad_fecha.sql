@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_evento_localidadclave_fecha ON evento (localidadclave, fechaevento);
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS evento_cambio (
+    id    INTEGER PRIMARY KEY,
+    valor BIGINT  NOT NULL
+);
+INSERT INTO evento_cambio (id, valor) VALUES (1, 0);
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS cambio BIGINT DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_evento_cambio ON evento (cambio, id);
+DROP INDEX IF EXISTS idx_evento_ultimamodificacion;
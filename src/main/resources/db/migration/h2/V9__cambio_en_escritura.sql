@@ -0,0 +1,13 @@
+-- Misma función que en PostgreSQL. H2 no admite UPDATE ... RETURNING, así que se lee
+-- el valor nuevo con FINAL TABLE.
+CREATE ALIAS IF NOT EXISTS siguiente_cambio AS '
+long siguienteCambio(java.sql.Connection conexion) throws java.sql.SQLException {
+    try (java.sql.Statement sentencia = conexion.createStatement();
+         java.sql.ResultSet valor = sentencia.executeQuery(
+                 "SELECT valor FROM FINAL TABLE (UPDATE evento_cambio SET valor = valor + 1 WHERE id = 1)")) {
+        valor.next();
+        return valor.getLong(1);
+    }
+}';
+
+ALTER TABLE evento ALTER COLUMN cambio SET DEFAULT siguiente_cambio();
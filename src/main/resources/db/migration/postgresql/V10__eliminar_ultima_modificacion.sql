@@ -0,0 +1,3 @@
+-- La sincronización incremental se ordena por el número de cambio (V8), así que el
+-- momento de la última modificación ya no se lee en ninguna parte.
+ALTER TABLE evento DROP COLUMN IF EXISTS ultimamodificacion;
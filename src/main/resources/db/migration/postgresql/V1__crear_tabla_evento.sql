@@ -0,0 +1,15 @@
+-- Tabla inicial de eventos. En bases de datos existentes esta versión queda
+-- marcada como línea base (spring.flyway.baseline-on-migrate) y no se ejecuta.
+CREATE TABLE IF NOT EXISTS evento (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre           VARCHAR(255)   NOT NULL,
+    descripcion      VARCHAR(255)   NOT NULL,
+    fechaevento      DATE           NOT NULL,
+    preciominimo     NUMERIC(10, 2) NOT NULL,
+    preciomaximo     NUMERIC(10, 2) NOT NULL,
+    localidad        VARCHAR(255)   NOT NULL,
+    nombredelrecinto VARCHAR(255)   NOT NULL,
+    genero           VARCHAR(255)   NOT NULL,
+    mostrar          BOOLEAN        NOT NULL,
+    precio           NUMERIC(10, 2) NOT NULL
+);
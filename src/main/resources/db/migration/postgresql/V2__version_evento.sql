@@ -0,0 +1,2 @@
+-- Versión para el bloqueo optimista de la edición de eventos.
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Índice parcial con solo los eventos visibles, en orden de id:
+-- findAllMostrar, la paginación por cursor y la exportación.
+CREATE INDEX IF NOT EXISTS idx_evento_visibles_id ON evento (id) WHERE mostrar;
+
+-- Búsquedas por igualdad de findByCity y findByGenero, y rangos de fechas.
+CREATE INDEX IF NOT EXISTS idx_evento_localidad ON evento (localidad);
+CREATE INDEX IF NOT EXISTS idx_evento_genero ON evento (genero);
+CREATE INDEX IF NOT EXISTS idx_evento_fechaevento ON evento (fechaevento);
+
+-- Búsqueda por subcadena sin distinguir mayúsculas (LOWER(nombre) LIKE '%texto%'):
+-- un índice de trigramas permite usar el índice aunque el patrón empiece por comodín.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_evento_nombre_trgm ON evento USING gin (LOWER(nombre) gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Secuencia para los ids de evento. Con IDENTITY Hibernate tiene que insertar cada
+-- evento por separado para conocer su id; con una secuencia reserva bloques de 50 ids
+-- (optimizador pooled-lo) y puede agrupar las inserciones en lotes JDBC.
+CREATE SEQUENCE IF NOT EXISTS evento_seq INCREMENT BY 50;
+SELECT setval('evento_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM evento), false);
+
+-- La columna pasa a tomar su valor por defecto de la misma secuencia, para que las
+-- inserciones hechas fuera de la aplicación no choquen con los bloques reservados.
+ALTER TABLE evento ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE evento ALTER COLUMN id SET DEFAULT nextval('evento_seq');
+ALTER SEQUENCE evento_seq OWNED BY evento.id;
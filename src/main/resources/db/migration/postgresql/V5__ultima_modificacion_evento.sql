@@ -0,0 +1,7 @@
+-- Momento del último alta, edición o borrado lógico de cada evento, para la
+-- sincronización incremental (GET /evento/changes). Las filas existentes toman la
+-- fecha de la migración, así que aparecen en la primera sincronización.
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS ultimamodificacion TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Recorrido de los cambios en orden (ultimamodificacion, id) desde una marca.
+CREATE INDEX IF NOT EXISTS idx_evento_ultimamodificacion ON evento (ultimamodificacion, id);
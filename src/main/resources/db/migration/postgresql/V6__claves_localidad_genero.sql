@@ -0,0 +1,21 @@
+-- Localidad y género normalizados (minúsculas, sin tildes ni espacios alrededor), para
+-- que findByCity y findByGenero encuentren "Madrid", "madrid" y "Madríd" por igual.
+-- La aplicación los calcula al guardar con Normalizador.clave; aquí se rellenan las filas
+-- existentes con unaccent, que quita las mismas marcas diacríticas.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS localidadclave VARCHAR(255);
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS generoclave VARCHAR(255);
+
+UPDATE evento SET
+    localidadclave = BTRIM(LOWER(unaccent(localidad)), E' \t\n\r\f'),
+    generoclave = BTRIM(LOWER(unaccent(genero)), E' \t\n\r\f');
+
+ALTER TABLE evento ALTER COLUMN localidadclave SET NOT NULL;
+ALTER TABLE evento ALTER COLUMN generoclave SET NOT NULL;
+
+-- Las búsquedas por igualdad pasan a hacerse por la clave. La de localidad la cubre el
+-- índice compuesto por localidad y fecha de V7.
+DROP INDEX IF EXISTS idx_evento_localidad;
+DROP INDEX IF EXISTS idx_evento_genero;
+CREATE INDEX IF NOT EXISTS idx_evento_generoclave ON evento (generoclave);
@@ -0,0 +1,3 @@
+-- Eventos de una localidad por rango de fechas (GET /evento/upcoming?localidad=).
+-- El índice compuesto sirve también para las búsquedas solo por localidad.
+CREATE INDEX IF NOT EXISTS idx_evento_localidadclave_fecha ON evento (localidadclave, fechaevento);
@@ -0,0 +1,18 @@
+-- Contador de cambios del catálogo. Cada transacción que da de alta, edita u oculta
+-- eventos lo incrementa antes de escribir: el bloqueo de la fila dura hasta el commit,
+-- así que los números se reparten en el mismo orden en que se confirman las transacciones.
+CREATE TABLE IF NOT EXISTS evento_cambio (
+    id    INTEGER PRIMARY KEY,
+    valor BIGINT  NOT NULL
+);
+INSERT INTO evento_cambio (id, valor) VALUES (1, 0);
+
+-- Número del cambio que modificó por última vez cada evento, para la sincronización
+-- incremental (GET /evento/changes). Las filas existentes toman el 0, así que aparecen
+-- en la primera sincronización.
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS cambio BIGINT NOT NULL DEFAULT 0;
+
+-- Recorrido de los cambios en orden (cambio, id) desde una marca; sustituye al índice
+-- por ultimamodificacion, que ya no se usa para sincronizar.
+CREATE INDEX IF NOT EXISTS idx_evento_cambio ON evento (cambio, id);
+DROP INDEX IF EXISTS idx_evento_ultimamodificacion;
@@ -0,0 +1,16 @@
+-- El número de cambio se asigna dentro de la propia sentencia que escribe el evento:
+-- por defecto al insertar y con siguiente_cambio() en los UPDATE. La función solo se
+-- evalúa para las filas afectadas, así que una edición o un borrado de un evento que no
+-- existe no mueve el contador.
+--
+-- Sigue siendo un UPDATE de la fila única de evento_cambio, no una secuencia: la fila
+-- queda bloqueada hasta el commit, de modo que las escrituras sobre eventos se
+-- serializan desde esa sentencia, pero los números se confirman en orden y una marca
+-- de la sincronización incremental nunca deja atrás un cambio confirmado más tarde.
+-- Una secuencia no esperaría, pero dos transacciones podrían confirmarse en el orden
+-- contrario al de sus números.
+CREATE OR REPLACE FUNCTION siguiente_cambio() RETURNS BIGINT AS $$
+    UPDATE evento_cambio SET valor = valor + 1 WHERE id = 1 RETURNING valor;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE evento ALTER COLUMN cambio SET DEFAULT siguiente_cambio();
@@ -0,0 +1,207 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.config.VersionCatalogo;
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import com.capgeticket.evento.service.EventosCreadosEvent;
+import com.capgeticket.evento.stream.FeedCambios;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EventoController.class)
+public class AddAllTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FeedCambios feedCambios;
+
+    @MockBean
+    private VersionCatalogo versionCatalogo;
+
+    @MockBean
+    private EventoService eventoService;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private EventoServiceImpl eventoServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // Pruebas del service
+
+    /**
+     * Los eventos se guardan en lotes del tamaño del bloque de ids, vaciando el contexto
+     * de persistencia tras cada uno, y se devuelven los ids en el mismo orden.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddAllService() {
+        List<EventoDto> eventos = new ArrayList<>();
+        for (int i = 0; i < Evento.ID_ALLOCATION_SIZE + 1; i++) {
+            eventos.add(eventoCompleto("Concierto " + i));
+        }
+        when(eventoRepository.saveAll(any(List.class))).thenAnswer(invocation -> {
+            List<Evento> lote = invocation.getArgument(0);
+            long id = 100;
+            for (Evento evento : lote) {
+                evento.setId(id++);
+            }
+            return lote;
+        });
+
+        List<Long> ids = eventoServiceImpl.addAll(eventos);
+
+        // Un lote completo y otro con el evento restante
+        assertEquals(Evento.ID_ALLOCATION_SIZE + 1, ids.size());
+        verify(eventoRepository, times(2)).saveAll(any(List.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        // Un único aviso con todos los eventos creados
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof EventosCreadosEvent creados
+                && creados.eventos().size() == Evento.ID_ALLOCATION_SIZE + 1));
+    }
+
+    /**
+     * Si falta un campo obligatorio no se guarda ninguno de los eventos.
+     */
+    @Test
+    void testAddAllInvalidService() {
+        EventoDto sinGenero = eventoCompleto("Teatro");
+        sinGenero.setGenero(null);
+
+        SolicitudIncorrectaException e = assertThrows(SolicitudIncorrectaException.class,
+                () -> eventoServiceImpl.addAll(List.of(eventoCompleto("Concierto"), sinGenero)));
+        assertEquals("El evento en la posición 1 no es válido: falta genero", e.getMessage());
+        assertThrows(SolicitudIncorrectaException.class, () -> eventoServiceImpl.addAll(List.of()));
+        verifyNoInteractions(eventoRepository);
+    }
+
+    /**
+     * Los campos de texto en blanco se tratan como ausentes.
+     */
+    @Test
+    void testAddAllBlankFieldService() {
+        EventoDto localidadEnBlanco = eventoCompleto("Teatro");
+        localidadEnBlanco.setLocalidad("  ");
+        EventoDto descripcionVacia = eventoCompleto("Ópera");
+        descripcionVacia.setDescripcion("");
+
+        SolicitudIncorrectaException e = assertThrows(SolicitudIncorrectaException.class,
+                () -> eventoServiceImpl.addAll(List.of(localidadEnBlanco)));
+        assertEquals("El evento en la posición 0 no es válido: falta localidad", e.getMessage());
+        e = assertThrows(SolicitudIncorrectaException.class,
+                () -> eventoServiceImpl.addAll(List.of(eventoCompleto("Concierto"), descripcionVacia)));
+        assertEquals("El evento en la posición 1 no es válido: falta descripcion", e.getMessage());
+        verifyNoInteractions(eventoRepository);
+    }
+
+    /**
+     * El precio mínimo no puede ser mayor que el máximo.
+     */
+    @Test
+    void testAddAllPrecioMinimoMayorService() {
+        EventoDto preciosInvertidos = eventoCompleto("Teatro");
+        preciosInvertidos.setPrecioMinimo(new BigDecimal("60.00"));
+
+        SolicitudIncorrectaException e = assertThrows(SolicitudIncorrectaException.class,
+                () -> eventoServiceImpl.addAll(List.of(preciosInvertidos)));
+        assertEquals("El evento en la posición 0 no es válido: precioMinimo es mayor que precioMaximo", e.getMessage());
+        verifyNoInteractions(eventoRepository);
+    }
+
+    // Pruebas del controller
+
+    /**
+     * POST /evento/bulk devuelve 201 con los ids generados.
+     */
+    @Test
+    void testAddAllController() throws Exception {
+        when(eventoService.addAll(anyList())).thenReturn(List.of(101L, 102L));
+
+        mockMvc.perform(post("/evento/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nombre\": \"Concierto\", \"localidad\": \"Madrid\"}," +
+                                " {\"nombre\": \"Teatro\", \"localidad\": \"Sevilla\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value(101))
+                .andExpect(jsonPath("$[1]").value(102));
+
+        verify(eventoService, times(1)).addAll(argThat(eventos -> eventos.size() == 2
+                && "Teatro".equals(eventos.get(1).getNombre())));
+    }
+
+    /**
+     * Si el servicio rechaza la lista se responde 400 con el motivo.
+     */
+    @Test
+    void testAddAllInvalidController() throws Exception {
+        when(eventoService.addAll(anyList()))
+                .thenThrow(new SolicitudIncorrectaException("El evento en la posición 0 no es válido: falta genero"));
+
+        mockMvc.perform(post("/evento/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nombre\": \"Concierto\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("El evento en la posición 0 no es válido: falta genero"))
+                .andExpect(jsonPath("$.path").value("uri=/evento/bulk"));
+    }
+
+    private EventoDto eventoCompleto(String nombre) {
+        EventoDto eventoDto = new EventoDto();
+        eventoDto.setNombre(nombre);
+        eventoDto.setDescripcion("Descripción de " + nombre);
+        eventoDto.setFechaEvento(LocalDate.of(2024, 12, 1));
+        eventoDto.setPrecioMinimo(new BigDecimal("10.00"));
+        eventoDto.setPrecioMaximo(new BigDecimal("50.00"));
+        eventoDto.setLocalidad("Madrid");
+        eventoDto.setNombreDelRecinto("Palacio de Deportes");
+        eventoDto.setGenero("Música");
+        eventoDto.setMostrar(true);
+        eventoDto.setPrecio(new BigDecimal("30.00"));
+        return eventoDto;
+    }
+}
@@ -1,16 +1,19 @@
 package com.capgeticket.evento;
 
+import com.capgeticket.evento.config.VersionCatalogo;
 import com.capgeticket.evento.controller.EventoController;
 import com.capgeticket.evento.dto.EventoDto;
 import com.capgeticket.evento.model.Evento;
 import com.capgeticket.evento.repository.EventoRepository;
 import com.capgeticket.evento.service.EventoService;
 import com.capgeticket.evento.service.EventoServiceImpl;
+import com.capgeticket.evento.stream.FeedCambios;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -32,12 +35,21 @@ public class AddEvento01 {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private FeedCambios feedCambios;
+
+    @MockBean
+    private VersionCatalogo versionCatalogo;
+
     @MockBean
     private EventoService eventoService;
 
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EventoServiceImpl eventoServiceImpl;
 
@@ -0,0 +1,132 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga del modo de hilos: muchos clientes concurrentes piden páginas de eventos
+ * contra una base de datos H2 con latencia simulada, y se mide el rendimiento, los
+ * percentiles de latencia y el máximo de hilos de plataforma vivos durante la prueba.
+ * Las subclases fijan el modo con {@code spring.threads.virtual.enabled}.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pcarga}; el número de clientes y de peticiones se puede
+ * cambiar con las propiedades del sistema {@code carga.clientes} y {@code carga.peticiones}.
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.capgeticket.evento.LatenciaStatementInspector",
+        "evento.indice-nombre.enabled=false",
+        "evento.indice-sugerencias.enabled=false"
+})
+abstract class CargaHilos {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaHilos.class);
+
+    private static final int EVENTOS = 2_000;
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 500);
+    private static final int PETICIONES = Integer.getInteger("carga.peticiones", 20_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected EventoRepository eventoRepository;
+
+    @BeforeEach
+    void sembrar() {
+        GeneradorEventos generador = new GeneradorEventos(42);
+        List<Evento> eventos = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i++) {
+            eventos.add(generador.evento());
+        }
+        eventoRepository.saveAll(eventos);
+    }
+
+    @AfterEach
+    void limpiar() {
+        eventoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Nombre del modo para el informe.
+     */
+    protected abstract String modo();
+
+    /**
+     * Comprobaciones propias del modo una vez terminada la carga.
+     */
+    protected void comprobar() {
+    }
+
+    @Test
+    void testPaginasConcurrentes() throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] latencias = new long[PETICIONES];
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+
+        threads.resetPeakThreadCount();
+        long inicio = System.nanoTime();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                clientes.submit(() -> {
+                    int i;
+                    while ((i = siguiente.getAndIncrement()) < PETICIONES) {
+                        String cursor = EventoPageDto.encodeCursor(ThreadLocalRandom.current().nextLong(EVENTOS));
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/evento/page?limit=20&after=" + cursor)).build();
+                        long t0 = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errores.incrementAndGet();
+                        }
+                        latencias[i] = System.nanoTime() - t0;
+                    }
+                    return null;
+                });
+            }
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        Arrays.sort(latencias);
+        logger.info("Carga en modo {}: {} peticiones, {} clientes, {} req/s, p50 {} ms, p99 {} ms, máximo de hilos de plataforma {}, errores {}",
+                modo(), PETICIONES, CLIENTES,
+                Math.round(PETICIONES / (duracion / 1e9)),
+                latencias[PETICIONES / 2] / 1_000_000.0,
+                latencias[(int) (PETICIONES * 0.99)] / 1_000_000.0,
+                threads.getPeakThreadCount(), errores.get());
+
+        assertEquals(0, errores.get());
+        comprobar();
+    }
+}
@@ -0,0 +1,15 @@
+package com.capgeticket.evento;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Prueba de carga con el modo por defecto: un hilo de plataforma de Tomcat por petición.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class CargaHilosPlataformaTests extends CargaHilos {
+
+    @Override
+    protected String modo() {
+        return "hilos de plataforma";
+    }
+}
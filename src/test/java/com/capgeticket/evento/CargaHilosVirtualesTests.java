@@ -0,0 +1,35 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.config.SemaphoreDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Prueba de carga con hilos virtuales y el semáforo delante del pool de conexiones.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "evento.datasource.max-concurrent=10"
+})
+class CargaHilosVirtualesTests extends CargaHilos {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    protected String modo() {
+        return "hilos virtuales";
+    }
+
+    @Override
+    protected void comprobar() {
+        // Todas las conexiones se han devuelto al terminar
+        SemaphoreDataSource semaphoreDataSource = assertInstanceOf(SemaphoreDataSource.class, dataSource);
+        assertEquals(10, semaphoreDataSource.getPermisosDisponibles());
+    }
+}
@@ -0,0 +1,198 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga reproducible con tráfico mixto de lectura y escritura contra todos los
+ * endpoints de EventoController.
+ * <p>
+ * Arranca la aplicación sobre H2 en modo PostgreSQL, la siembra con eventos generados por
+ * {@link GeneradorEventos} y lanza peticiones concurrentes con un reparto fijo por endpoint.
+ * Tras una fase de calentamiento que no se mide, escribe en el log y en
+ * {@code target/carga/informe.csv} el rendimiento y los percentiles de latencia de cada endpoint.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pcarga}. Se configura con las propiedades del sistema
+ * {@code carga.eventos}, {@code carga.clientes}, {@code carga.peticiones},
+ * {@code carga.calentamiento} y {@code carga.semilla}.
+ */
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CargaMixtaTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaMixtaTests.class);
+
+    private static final int EVENTOS = Integer.getInteger("carga.eventos", 10_000);
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 64);
+    private static final int PETICIONES = Integer.getInteger("carga.peticiones", 20_000);
+    private static final int CALENTAMIENTO = Integer.getInteger("carga.calentamiento", 2_000);
+    private static final long SEMILLA = Long.getLong("carga.semilla", 42);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Long> ids;
+
+    /**
+     * Un tipo de petición con su peso en el reparto del tráfico.
+     */
+    private record Operacion(String nombre, int peso, Function<GeneradorEventos, HttpRequest> peticion) {
+    }
+
+    private List<Operacion> operaciones() {
+        return List.of(
+                new Operacion("findById", 25, g -> get("/evento/" + idAleatorio(g))),
+                new Operacion("page", 15, g -> get("/evento/page?limit=50&after=" + EventoPageDto.encodeCursor(idAleatorio(g)))),
+                new Operacion("suggest", 20, g -> get("/evento/suggest?prefix=" + codificar(g.palabra().substring(0, 3)))),
+                new Operacion("nombre", 8, g -> get("/evento/nombre?name=" + codificar(g.palabra()))),
+                new Operacion("city", 8, g -> get("/evento/city?city=" + codificar(g.ciudad()))),
+                new Operacion("genero", 6, g -> get("/evento/genero?genre=" + codificar(g.genero()))),
+                new Operacion("findAll", 1, g -> get("/evento")),
+                new Operacion("export", 1, g -> get("/evento/export")),
+                new Operacion("add", 8, g -> HttpRequest.newBuilder(uri("/evento"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(json(g.eventoDto()))).build()),
+                new Operacion("edit", 6, g -> {
+                    EventoDto dto = g.eventoDto();
+                    dto.setId(idAleatorio(g));
+                    return HttpRequest.newBuilder(uri("/evento"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofByteArray(json(dto))).build();
+                }),
+                new Operacion("delete", 2, g -> HttpRequest.newBuilder(uri("/evento/" + idAleatorio(g))).DELETE().build()));
+    }
+
+    @AfterEach
+    void limpiar() {
+        eventoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testTraficoMixto() throws Exception {
+        sembrar();
+        List<Operacion> operaciones = operaciones();
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        logger.info("Calentamiento con {} peticiones", CALENTAMIENTO);
+        ejecutar(client, operaciones, CALENTAMIENTO, new InformeCarga());
+
+        logger.info("Midiendo {} peticiones con {} clientes", PETICIONES, CLIENTES);
+        InformeCarga informe = new InformeCarga();
+        long inicio = System.nanoTime();
+        ejecutar(client, operaciones, PETICIONES, informe);
+        informe.escribir(System.nanoTime() - inicio, Path.of("target", "carga", "informe.csv"));
+
+        assertEquals(0, informe.errores());
+    }
+
+    private void sembrar() {
+        logger.info("Sembrando {} eventos", EVENTOS);
+        GeneradorEventos generador = new GeneradorEventos(SEMILLA);
+        ids = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i += 1000) {
+            List<Evento> bloque = new ArrayList<>();
+            for (int j = i; j < Math.min(EVENTOS, i + 1000); j++) {
+                bloque.add(generador.evento());
+            }
+            eventoRepository.saveAll(bloque).forEach(e -> ids.add(e.getId()));
+        }
+    }
+
+    /**
+     * Reparte las peticiones entre los clientes; cada cliente elige la operación según los
+     * pesos con su propio generador, derivado de la semilla, para que la secuencia sea reproducible.
+     */
+    private void ejecutar(HttpClient client, List<Operacion> operaciones, int peticiones, InformeCarga informe) {
+        int pesoTotal = operaciones.stream().mapToInt(Operacion::peso).sum();
+        AtomicInteger restantes = new AtomicInteger(peticiones);
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                GeneradorEventos generador = new GeneradorEventos(SEMILLA * 31 + c);
+                clientes.submit(() -> {
+                    while (restantes.getAndDecrement() > 0) {
+                        Operacion operacion = elegir(operaciones, generador.random().nextInt(pesoTotal));
+                        HttpRequest request = operacion.peticion().apply(generador);
+                        long t0 = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException | InterruptedException e) {
+                            status = -1;
+                        }
+                        informe.anotar(operacion.nombre(), System.nanoTime() - t0, status);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static Operacion elegir(List<Operacion> operaciones, int valor) {
+        for (Operacion operacion : operaciones) {
+            valor -= operacion.peso();
+            if (valor < 0) {
+                return operacion;
+            }
+        }
+        return operaciones.getLast();
+    }
+
+    private long idAleatorio(GeneradorEventos generador) {
+        return ids.get(generador.random().nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(uri(ruta)).GET().build();
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + port + ruta);
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    private byte[] json(EventoDto dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.capgeticket.evento;
 
 import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
 import com.capgeticket.evento.exception.EventoNotFoundException;
 import com.capgeticket.evento.repository.EventoRepository;
 import com.capgeticket.evento.service.EventoService;
@@ -10,9 +11,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -22,6 +26,9 @@ class DeleteElemento01 {
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EventoServiceImpl eventoService;
 
@@ -38,19 +45,21 @@ class DeleteElemento01 {
     }
 
     /**
-     * Verifica que el método deleteById() elimine un evento cuando el ID existe.
+     * Verifica que el método deleteById() elimine un evento cuando el ID existe usando un único UPDATE.
      */
     @Test
     void testDeleteByIdWhenExists_Service() {
-        // Simular que el evento existe
-        when(eventoRepository.existsById(1L)).thenReturn(true);
+        // Simular que el UPDATE afecta a una fila
+        when(eventoRepository.softDeleteById(1L)).thenReturn(1);
+        when(eventoRepository.findByIdIn(List.of(1L))).thenReturn(List.of(new EventoDto()));
 
         // Llamar al método deleteById
         boolean result = eventoService.deleteById(1L);
 
-        // Verificar que el evento fue eliminado
+        // Verificar que el evento fue eliminado con una sola sentencia
         assertTrue(result);
-        verify(eventoRepository, times(1)).deleteById(1L);
+        verify(eventoRepository, times(1)).softDeleteById(1L);
+        verify(eventoRepository, never()).existsById(1L);
     }
 
     /**
@@ -58,15 +67,15 @@ class DeleteElemento01 {
      */
     @Test
     void testDeleteByIdWhenNotExists_Service() {
-        // Simular que el evento no existe
-        when(eventoRepository.existsById(1L)).thenReturn(false);
+        // Simular que el UPDATE no afecta a ninguna fila
+        when(eventoRepository.softDeleteById(1L)).thenReturn(0);
 
         // Llamar al método deleteById
         boolean result = eventoService.deleteById(1L);
 
         // Verificar que no se eliminó el evento
         assertFalse(result);
-        verify(eventoRepository, never()).deleteById(1L);
+        verify(eventoRepository, never()).existsById(1L);
     }
 
     /**
@@ -75,7 +84,6 @@ class DeleteElemento01 {
     @Test
     void testDeleteByIdSuccess_Controller() {
         // Simular que el evento existe
-        when(mockEventoService.existsById(1L)).thenReturn(true);
         when(mockEventoService.deleteById(1L)).thenReturn(true);
 
         // Llamar al controlador
@@ -85,6 +93,7 @@ class DeleteElemento01 {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody());
         verify(mockEventoService, times(1)).deleteById(1L);
+        verify(mockEventoService, never()).existsById(1L);
     }
 
     /**
@@ -93,16 +102,14 @@ class DeleteElemento01 {
     @Test
     void testDeleteByIdNotFound_Controller() {
         // Simular que el evento no existe
-        when(mockEventoService.existsById(1L)).thenReturn(false);
+        when(mockEventoService.deleteById(1L)).thenReturn(false);
 
         // Verificar que se lanza la excepción
-        try {
-            eventoController.deleteById(1L);
-        } catch (EventoNotFoundException ex) {
-            assertEquals("Epic Fail: No existe el evento con ID 1", ex.getMessage());
-        }
-
-        // Verificar que no se intenta eliminar el evento
-        verify(mockEventoService, never()).deleteById(1L);
+        EventoNotFoundException ex = assertThrows(EventoNotFoundException.class, () -> eventoController.deleteById(1L));
+        assertEquals("Epic Fail: No existe el evento con ID 1", ex.getMessage());
+
+        // Verificar que solo se hace una llamada al servicio
+        verify(mockEventoService, times(1)).deleteById(1L);
+        verify(mockEventoService, never()).existsById(1L);
     }
 }
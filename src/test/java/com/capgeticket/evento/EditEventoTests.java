@@ -1,5 +1,6 @@
 package com.capgeticket.evento;
 
+import com.capgeticket.evento.config.VersionCatalogo;
 import com.capgeticket.evento.controller.EventoController;
 import com.capgeticket.evento.dto.EventoDto;
 import com.capgeticket.evento.exception.EventoNotFoundException;
@@ -7,15 +8,18 @@ import com.capgeticket.evento.model.Evento;
 import com.capgeticket.evento.repository.EventoRepository;
 import com.capgeticket.evento.service.EventoService;
 import com.capgeticket.evento.service.EventoServiceImpl;
+import com.capgeticket.evento.stream.FeedCambios;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -34,12 +38,21 @@ public class EditEventoTests {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private FeedCambios feedCambios;
+
+    @MockBean
+    private VersionCatalogo versionCatalogo;
+
     @MockBean
     private EventoService eventoService;
 
     @Mock
     private EventoRepository eventoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EventoServiceImpl eventoServiceImpl;
 
@@ -64,18 +77,50 @@ public class EditEventoTests {
         eventoDto.setGenero("Música");
         eventoDto.setMostrar(true);
 
-        Evento evento = Evento.of(eventoDto, true);
-
         //When
-        when(eventoRepository.save(any(Evento.class))).thenReturn(evento);
-        when(eventoRepository.existsById(1L)).thenReturn(true);
+        when(eventoRepository.updateEvento(any(Evento.class))).thenReturn(1);
 
         EventoDto result = eventoServiceImpl.edit(eventoDto);
 
         //Then
         assertNotNull(result);
         assertEquals(eventoDto.getNombre(), result.getNombre());
-        verify(eventoRepository, times(1)).save(any(Evento.class));
+        verify(eventoRepository, times(1)).updateEvento(any(Evento.class));
+        verify(eventoRepository, never()).existsById(1L);
+        verify(eventoRepository, never()).save(any(Evento.class));
+    }
+
+    @Test
+    void testUpdateWithMatchingVersion() {
+        //Get
+        EventoDto eventoDto = new EventoDto();
+        eventoDto.setId(1L);
+        eventoDto.setNombre("Concierto Editado");
+        eventoDto.setVersion(3L);
+
+        //When
+        when(eventoRepository.updateEvento(any(Evento.class))).thenReturn(1);
+
+        EventoDto result = eventoServiceImpl.edit(eventoDto);
+
+        //Then
+        assertEquals(4L, result.getVersion());
+    }
+
+    @Test
+    void testUpdateWithStaleVersion() {
+        //Get
+        EventoDto eventoDto = new EventoDto();
+        eventoDto.setId(1L);
+        eventoDto.setNombre("Concierto Editado");
+        eventoDto.setVersion(3L);
+
+        //When
+        when(eventoRepository.updateEvento(any(Evento.class))).thenReturn(0);
+        when(eventoRepository.existsById(1L)).thenReturn(true);
+
+        //Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> eventoServiceImpl.edit(eventoDto));
     }
 
     @Test
@@ -162,6 +207,21 @@ public class EditEventoTests {
         verify(eventoService, times(1)).edit(any(EventoDto.class));
     }
 
+    @Test
+    void testEditStaleVersionController() throws Exception {
+        when(eventoService.edit(any(EventoDto.class))).thenThrow(new ObjectOptimisticLockingFailureException(Evento.class, 1L));
+
+        mockMvc.perform(put("/evento")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\n" +
+                                "    \"id\": 1,\n" +
+                                "    \"nombre\": \"Concierto\",\n" +
+                                "    \"version\": 3\n" +
+                                "}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflicto de versión"));
+    }
+
     @Test
     void testAddNullEventoService() {
         assertThrows(IllegalArgumentException.class, () -> eventoServiceImpl.add(null), "El evento no puede ser nulo o tener un nombre vacío");
@@ -0,0 +1,146 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.config.CatalogoEtagAdvice;
+import com.capgeticket.evento.config.CatalogoEtagInterceptor;
+import com.capgeticket.evento.config.VersionCatalogo;
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.exception.CustomGlobalExceptionHandler;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class EtagTests {
+
+    @Mock
+    private EventoService eventoService;
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    private VersionCatalogo versionCatalogo;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        versionCatalogo = catalogo();
+        mockMvc = MockMvcBuilders.standaloneSetup(eventoController)
+                .addMappedInterceptors(new String[]{"/evento", "/evento/city"}, new CatalogoEtagInterceptor(versionCatalogo))
+                .setControllerAdvice(new CustomGlobalExceptionHandler(), new CatalogoEtagAdvice())
+                .build();
+    }
+
+    private VersionCatalogo catalogo() {
+        VersionCatalogo catalogo = new VersionCatalogo();
+        ReflectionTestUtils.setField(catalogo, "repository", eventoRepository);
+        return catalogo;
+    }
+
+    private EventoDto evento(long id, long version) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setNombre("Evento " + id);
+        evento.setVersion(version);
+        return evento;
+    }
+
+    /**
+     * Los listados llevan el ETag del contador de cambios y con If-None-Match vigente se
+     * responde 304 sin llamar al servicio; tras un cambio el ETag anterior deja de valer.
+     */
+    @Test
+    void testListadoCondicional() throws Exception {
+        when(eventoRepository.findCambioActual()).thenReturn(7L);
+        when(eventoService.findAll()).thenReturn(List.of(evento(1, 0)));
+        String etag = versionCatalogo.etag();
+        assertEquals("\"c7\"", etag);
+
+        mockMvc.perform(get("/evento"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(get("/evento").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(eventoService, times(1)).findAll();
+
+        when(eventoRepository.findCambioActual()).thenReturn(8L);
+        assertNotEquals(etag, versionCatalogo.etag());
+
+        mockMvc.perform(get("/evento").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", versionCatalogo.etag()));
+    }
+
+    /**
+     * Las respuestas de error de un listado no llevan el ETag del catálogo, para que no se
+     * puedan validar después con If-None-Match.
+     */
+    @Test
+    void testErrorSinEtag() throws Exception {
+        when(eventoRepository.findCambioActual()).thenReturn(7L);
+        when(eventoService.findByCity("Madrid")).thenReturn(List.of());
+
+        mockMvc.perform(get("/evento/city").param("city", "Madrid"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/evento/city").param("city", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    /**
+     * Un evento lleva el ETag de su versión y con If-None-Match vigente se responde 304 sin cuerpo.
+     * El número de cambio interno no se publica.
+     */
+    @Test
+    void testEventoCondicional() throws Exception {
+        EventoDto evento = evento(1, 3);
+        evento.setCambio(9L);
+        when(eventoService.findById(1L)).thenReturn(evento);
+
+        mockMvc.perform(get("/evento/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"e1-3\""));
+
+        mockMvc.perform(get("/evento/1").header("If-None-Match", "\"e1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/evento/1").header("If-None-Match", "\"e1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.cambio").doesNotExist());
+    }
+
+    /**
+     * El ETag sale de la base de datos, así que otra instancia, o la misma tras reiniciarse,
+     * da el mismo ETag para el mismo estado del catálogo.
+     */
+    @Test
+    void testEtagComunEntreInstancias() {
+        when(eventoRepository.findCambioActual()).thenReturn(12L);
+
+        assertEquals(versionCatalogo.etag(), catalogo().etag());
+    }
+}
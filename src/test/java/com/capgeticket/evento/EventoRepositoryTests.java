@@ -0,0 +1,347 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.dto.EventoRecuentoDto;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las consultas de EventoRepository sobre H2 con el esquema de las migraciones.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventoRepositoryTests {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Evento guardar(String nombre, String localidad, boolean mostrar) {
+        return guardar(nombre, localidad, mostrar, LocalDate.of(2024, 12, 1));
+    }
+
+    private Evento guardar(String nombre, String localidad, boolean mostrar, LocalDate fecha) {
+        Evento evento = new Evento();
+        evento.setNombre(nombre);
+        evento.setDescripcion("Descripción de " + nombre);
+        evento.setFechaEvento(fecha);
+        evento.setPrecioMinimo(new BigDecimal("10.00"));
+        evento.setPrecioMaximo(new BigDecimal("50.00"));
+        evento.setLocalidad(localidad);
+        evento.setNombreDelRecinto("Palacio de Deportes");
+        evento.setGenero("Música");
+        evento.setMostrar(mostrar);
+        evento.setPrecio(new BigDecimal("30.00"));
+        return eventoRepository.save(evento);
+    }
+
+    @Test
+    void testFindAllMostrarOnlyVisible() {
+        guardar("Concierto", "Madrid", true);
+        guardar("Oculto", "Madrid", false);
+
+        List<EventoDto> eventos = eventoRepository.findAllMostrar();
+
+        assertEquals(1, eventos.size());
+        assertEquals("Concierto", eventos.getFirst().getNombre());
+        assertEquals(0L, eventos.getFirst().getVersion());
+    }
+
+    @Test
+    void testFindPageMostrar() {
+        Evento primero = guardar("Uno", "Madrid", true);
+        guardar("Oculto", "Madrid", false);
+        Evento segundo = guardar("Dos", "Madrid", true);
+        guardar("Tres", "Madrid", true);
+
+        List<EventoDto> pagina = eventoRepository.findPageMostrar(primero.getId(), Limit.of(1));
+
+        assertEquals(1, pagina.size());
+        assertEquals(segundo.getId(), pagina.getFirst().getId());
+    }
+
+    @Test
+    void testFindByNombreIgnoresCaseAndEscapesWildcards() {
+        guardar("Concierto de Rock", "Madrid", true);
+        guardar("Rock al 100%", "Bilbao", true);
+
+        assertEquals(2, eventoRepository.findByNombre("ROCK").size());
+        assertEquals(1, eventoRepository.findByNombre("100%").size());
+        assertEquals(0, eventoRepository.findByNombre("%%").size());
+    }
+
+    @Test
+    void testFindSugerencias() {
+        LocalDate hoy = LocalDate.now();
+        Evento pasado = guardar("Concierto antiguo", "Madrid", true, hoy.minusDays(30));
+        Evento reciente = guardar("Concierto reciente", "Madrid", true, hoy.minusDays(1));
+        Evento lejano = guardar("Concierto lejano", "Madrid", true, hoy.plusDays(30));
+        Evento proximo = guardar("Concierto próximo", "Madrid", true, hoy.plusDays(1));
+        guardar("Concierto oculto", "Madrid", false, hoy.plusDays(1));
+        guardar("Gran concierto", "Madrid", true, hoy.plusDays(1));
+
+        List<EventoNombreDto> sugerencias = eventoRepository.findSugerencias("CONC", Limit.of(10));
+
+        assertEquals(List.of(proximo.getId(), lejano.getId(), reciente.getId(), pasado.getId()),
+                sugerencias.stream().map(EventoNombreDto::getId).toList());
+        assertEquals(2, eventoRepository.findSugerencias("conc", Limit.of(2)).size());
+    }
+
+    @Test
+    void testFindByCity() {
+        guardar("Concierto", "Madrid", true);
+        guardar("Teatro", "Sevilla", true);
+
+        List<EventoDto> eventos = eventoRepository.findByCity("Sevilla");
+
+        assertEquals(1, eventos.size());
+        assertEquals("Teatro", eventos.getFirst().getNombre());
+    }
+
+    /**
+     * La localidad y el género se buscan por su clave normalizada, y los valores leídos se
+     * comparten entre filas.
+     */
+    @Test
+    void testFindByCityAndGeneroIgnoreCaseAndAccents() {
+        guardar("Concierto", "Madríd", true);
+        guardar("Teatro", "Madríd", true);
+        guardar("Ópera", "Sevilla", true);
+
+        List<EventoDto> eventos = eventoRepository.findByCity("  MADRID");
+
+        assertEquals(2, eventos.size());
+        assertSame(eventos.get(0).getLocalidad(), eventos.get(1).getLocalidad());
+        assertEquals(3, eventoRepository.findByGenero("musica").size());
+    }
+
+    /**
+     * Con los datos confirmados, findByCity se resuelve desde la caché de consultas a partir
+     * de la segunda llamada. La entidad no está en la caché de segundo nivel, así que
+     * findById va siempre a la base de datos; su caché es la de EventoServiceImpl.
+     */
+    @Test
+    void testCacheConsultas() {
+        Long id = guardar("Concierto", "Madrid", true).getId();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            estadisticas.clear();
+            for (String ciudad : List.of("Madrid", "madrid")) {
+                TestTransaction.start();
+                assertEquals(1, eventoRepository.findByCity(ciudad).size());
+                assertTrue(eventoRepository.findById(id).isPresent());
+                TestTransaction.end();
+            }
+
+            assertEquals(1, estadisticas.getQueryCacheHitCount());
+            assertEquals(0, estadisticas.getSecondLevelCachePutCount());
+            assertEquals(2, estadisticas.getEntityLoadCount());
+        } finally {
+            TestTransaction.start();
+            eventoRepository.deleteAll();
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            TestTransaction.start();
+        }
+    }
+
+    @Test
+    void testFindProximos() {
+        LocalDate hoy = LocalDate.of(2024, 6, 1);
+        Evento tarde = guardar("Tarde", "Madrid", true, hoy.plusDays(2));
+        Evento pronto = guardar("Pronto", "Madrid", true, hoy);
+        guardar("Oculto", "Madrid", false, hoy);
+        guardar("Pasado", "Madrid", true, hoy.minusDays(1));
+        Evento sevilla = guardar("Sevilla", "Sevilla", true, hoy.plusDays(1));
+
+        assertEquals(List.of(pronto.getId(), sevilla.getId(), tarde.getId()),
+                eventoRepository.findProximos(hoy, hoy.plusDays(2), Limit.of(10)).stream().map(EventoDto::getId).toList());
+        assertEquals(List.of(pronto.getId()),
+                eventoRepository.findProximosEnLocalidad("madrid", hoy, hoy.plusDays(1), Limit.of(10)).stream()
+                        .map(EventoDto::getId).toList());
+    }
+
+    @Test
+    void testFindPorPrecio() {
+        Evento visible = guardar("Concierto", "Madrid", true);
+        guardar("Oculto", "Madrid", false);
+
+        assertEquals(List.of(visible.getId()), eventoRepository.findPorPrecio(new BigDecimal("40"), new BigDecimal("60"),
+                0L, Limit.of(10)).stream().map(EventoDto::getId).toList());
+        assertTrue(eventoRepository.findPorPrecio(new BigDecimal("50.01"), new BigDecimal("60"), 0L, Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void testFindBusqueda() {
+        Evento avila = guardar("Concierto", "Ávila", true);
+        Evento madrid = guardar("Teatro", "Madrid", true);
+        guardar("Ópera", "Madrid", true).setPrecio(new BigDecimal("120.00"));
+        guardar("Oculto", "Ávila", false);
+        eventoRepository.flush();
+        EventoRepository.Busqueda busqueda = new EventoRepository.Busqueda(List.of("avila", "madrid"), List.of(),
+                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), BigDecimal.ZERO, new BigDecimal("100"));
+
+        assertEquals(List.of(avila.getId(), madrid.getId()), eventoRepository.findBusqueda(busqueda, 0L, Limit.of(10))
+                .stream().map(EventoDto::getId).toList());
+        assertEquals(List.of(madrid.getId()), eventoRepository.findBusqueda(busqueda, avila.getId(), Limit.of(10))
+                .stream().map(EventoDto::getId).toList());
+        assertEquals(2, eventoRepository.countBusqueda(busqueda));
+        // Cada faceta cuenta sin su propio filtro: la banda de 100+ aparece aunque se filtre por precio
+        assertEquals(List.of(new EventoRecuentoDto("20-50", 2L), new EventoRecuentoDto("100+", 1L)),
+                eventoRepository.countBusquedaPorPrecio(busqueda).stream()
+                        .sorted((a, b) -> Long.compare(b.getTotal(), a.getTotal())).toList());
+        assertEquals(List.of(new EventoRecuentoDto("Música", 2L)), eventoRepository.countBusquedaPorGenero(busqueda));
+
+        EventoRepository.Busqueda soloAvila = new EventoRepository.Busqueda(List.of("avila"), List.of("musica"),
+                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), BigDecimal.ZERO, new BigDecimal("100"));
+        assertEquals(1, eventoRepository.countBusqueda(soloAvila));
+        assertEquals(2, eventoRepository.countBusquedaPorLocalidad(soloAvila).size());
+    }
+
+    /**
+     * El borrado toma un número de cambio nuevo, y el de un evento que no existe no mueve el contador.
+     */
+    @Test
+    void testSoftDeleteById() {
+        Evento evento = guardar("Concierto", "Madrid", true);
+        eventoRepository.flush();
+        long antes = eventoRepository.findCambioActual();
+
+        assertEquals(0, eventoRepository.softDeleteById(evento.getId() + 1000));
+        assertEquals(antes, eventoRepository.findCambioActual());
+        assertEquals(1, eventoRepository.softDeleteById(evento.getId()));
+        assertEquals(antes + 1, eventoRepository.findCambioActual());
+        assertTrue(eventoRepository.findAllMostrar().isEmpty());
+        assertEquals(antes + 1, eventoRepository.findByIdIn(List.of(evento.getId())).getFirst().getCambio());
+    }
+
+    @Test
+    void testUpdateEventoChecksVersion() {
+        Evento guardado = guardar("Concierto", "Madrid", true);
+
+        Evento cambios = new Evento();
+        cambios.setId(guardado.getId());
+        cambios.setNombre("Concierto editado");
+        cambios.setDescripcion(guardado.getDescripcion());
+        cambios.setFechaEvento(guardado.getFechaEvento());
+        cambios.setPrecioMinimo(guardado.getPrecioMinimo());
+        cambios.setPrecioMaximo(guardado.getPrecioMaximo());
+        cambios.setLocalidad(guardado.getLocalidad());
+        cambios.setNombreDelRecinto(guardado.getNombreDelRecinto());
+        cambios.setGenero(guardado.getGenero());
+        cambios.setMostrar(true);
+        cambios.setPrecio(guardado.getPrecio());
+
+        // Con la versión actual se actualiza y la versión pasa a 1
+        cambios.setVersion(0L);
+        assertEquals(1, eventoRepository.updateEvento(cambios));
+
+        // Con una versión antigua no se actualiza nada
+        assertEquals(0, eventoRepository.updateEvento(cambios));
+
+        // Sin versión se actualiza sin comprobarla
+        cambios.setVersion(null);
+        cambios.setNombre("Concierto sin versión");
+        assertEquals(1, eventoRepository.updateEvento(cambios));
+
+        EventoDto editado = eventoRepository.findByCity("Madrid").getFirst();
+        assertEquals("Concierto sin versión", editado.getNombre());
+        assertEquals(2L, editado.getVersion());
+        // Cada UPDATE que afecta al evento le asigna el último número de cambio
+        assertEquals(eventoRepository.findCambioActual(), editado.getCambio());
+    }
+
+    /**
+     * Los ids salen de la secuencia por bloques, sin repetirse entre bloques.
+     */
+    @Test
+    void testSaveAllUsesSequence() {
+        List<Evento> eventos = new ArrayList<>();
+        for (int i = 0; i < Evento.ID_ALLOCATION_SIZE + 10; i++) {
+            eventos.add(guardar("Evento " + i, "Madrid", true));
+        }
+
+        assertEquals(eventos.size(), eventos.stream().map(Evento::getId).distinct().count());
+        assertEquals(eventos.size(), eventoRepository.count());
+    }
+
+    /**
+     * Los cambios se recorren en orden (cambio, id) desde la marca, incluidos los ocultos.
+     */
+    @Test
+    void testFindCambios() {
+        Evento primero = guardar("Uno", "Madrid", true);
+        Evento segundo = guardar("Dos", "Madrid", true);
+        Evento tercero = guardar("Tres", "Madrid", true);
+        eventoRepository.softDeleteById(primero.getId());
+
+        List<EventoDto> todos = eventoRepository.findCambios(0L, 0L, Limit.of(10));
+        assertEquals(List.of(segundo.getId(), tercero.getId(), primero.getId()), todos.stream().map(EventoDto::getId).toList());
+        assertFalse(todos.getLast().getMostrar());
+        long borrado = eventoRepository.findCambioActual();
+        assertEquals(borrado, todos.getLast().getCambio());
+
+        // Desde el segundo solo quedan el tercero y el borrado
+        EventoDto dos = todos.getFirst();
+        List<EventoDto> desdeSegundo = eventoRepository.findCambios(dos.getCambio(), dos.getId(), Limit.of(10));
+        assertEquals(List.of(tercero.getId(), primero.getId()), desdeSegundo.stream().map(EventoDto::getId).toList());
+
+        // Desde el borrado no queda nada
+        assertTrue(eventoRepository.findCambios(borrado, primero.getId(), Limit.of(10)).isEmpty());
+    }
+
+    /**
+     * Las inserciones toman su número de cambio de la base de datos y, como la función solo
+     * toca la tabla evento_cambio, Hibernate no invalida por ella la caché de consultas.
+     */
+    @Test
+    void testCambioAlInsertar() {
+        long antes = eventoRepository.findCambioActual();
+        guardar("Concierto", "Madrid", true);
+        guardar("Teatro", "Madrid", true);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            TestTransaction.start();
+            assertEquals(antes + 2, eventoRepository.findCambioActual());
+            assertEquals(List.of(antes + 1, antes + 2), eventoRepository.findCambios(antes, 0L, Limit.of(10)).stream()
+                    .map(EventoDto::getCambio).toList());
+            assertEquals(2, eventoRepository.findByCity("Madrid").size());
+            TestTransaction.end();
+
+            estadisticas.clear();
+            TestTransaction.start();
+            assertEquals(2, eventoRepository.findByCity("Madrid").size());
+            TestTransaction.end();
+            assertEquals(1, estadisticas.getQueryCacheHitCount());
+        } finally {
+            TestTransaction.start();
+            eventoRepository.deleteAll();
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            TestTransaction.start();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.exception.CustomErrorAttributes;
+import com.capgeticket.evento.exception.CustomGlobalExceptionHandler;
+import com.capgeticket.evento.exception.ErrorResponseBuilder;
+import com.capgeticket.evento.exception.EventoNotFoundException;
+import com.capgeticket.evento.exception.SolicitudIncorrectaException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExcepcionesTests {
+
+    private final CustomGlobalExceptionHandler handler = new CustomGlobalExceptionHandler();
+
+    /**
+     * Las excepciones de dominio no capturan la traza de pila.
+     */
+    @Test
+    void testSinTraza() {
+        assertEquals(0, new EventoNotFoundException(1L).getStackTrace().length);
+        assertEquals(0, EventoNotFoundException.NO_EXISTE.getStackTrace().length);
+        assertEquals(0, new SolicitudIncorrectaException("El cursor no es válido").getStackTrace().length);
+
+        // Al no admitir supresiones la instancia compartida no acumula estado entre lanzamientos
+        EventoNotFoundException.NO_EXISTE.addSuppressed(new RuntimeException());
+        assertEquals(0, EventoNotFoundException.NO_EXISTE.getSuppressed().length);
+    }
+
+    /**
+     * El manejador responde con el cuerpo habitual, en el mismo orden de campos.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCuerpoDeError() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/evento/nombre");
+
+        ResponseEntity<Object> respuesta = handler.handleEventoNotFound(
+                EventoNotFoundException.SIN_COINCIDENCIAS_NOMBRE, new ServletWebRequest(request));
+
+        assertEquals(HttpStatus.NOT_FOUND, respuesta.getStatusCode());
+        Map<String, Object> body = (Map<String, Object>) respuesta.getBody();
+        assertEquals(List.of("timestamp", "status", "error", "message", "path"), List.copyOf(body.keySet()));
+        assertTrue(body.get("timestamp").toString().matches("\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}"));
+        assertEquals(404, body.get("status"));
+        assertEquals("No existen eventos con ese nombre", body.get("message"));
+        assertEquals("uri=/evento/nombre", body.get("path"));
+
+        respuesta = handler.handleIllegalArgument(new SolicitudIncorrectaException("El cursor no es válido"), new ServletWebRequest(request));
+        assertEquals(HttpStatus.BAD_REQUEST, respuesta.getStatusCode());
+    }
+
+    /**
+     * La fecha se formatea una vez por segundo y es correcta aunque la pidan varios hilos a la vez.
+     */
+    @Test
+    void testTimestamp() throws Exception {
+        long base = 1_700_000_000_000L;
+        String texto = ErrorResponseBuilder.timestamp(base);
+        assertEquals(new SimpleDateFormat("dd/MM/yyyy HH:mm:ss").format(new Date(base)), texto);
+        assertSame(texto, ErrorResponseBuilder.timestamp(base + 999));
+        assertNotEquals(texto, ErrorResponseBuilder.timestamp(base + 1000));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int hilo = 0; hilo < 4; hilo++) {
+                resultados.add(executor.submit(() -> {
+                    SimpleDateFormat formato = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+                    for (int i = 0; i < 2000; i++) {
+                        long instante = base + (i % 50) * 1000L;
+                        if (!formato.format(new Date(instante)).equals(ErrorResponseBuilder.timestamp(instante))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> resultado : resultados) {
+                assertTrue(resultado.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Los atributos de error de Spring Boot usan el mismo formato de fecha y no incluyen la traza.
+     */
+    @Test
+    void testCustomErrorAttributes() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/evento/nada");
+        request.setAttribute("jakarta.servlet.error.status_code", 404);
+
+        Map<String, Object> atributos = new CustomErrorAttributes().getErrorAttributes(
+                new ServletWebRequest(request), ErrorAttributeOptions.defaults());
+
+        assertTrue(atributos.get("timestamp").toString().matches("\\d{2}/\\d{2}/\\d{4} \\d{2}:\\d{2}:\\d{2}"));
+        assertEquals(404, atributos.get("status"));
+        assertFalse(atributos.containsKey("trace"));
+        assertEquals(System.getProperty("java.version"), atributos.get("jdk"));
+    }
+}
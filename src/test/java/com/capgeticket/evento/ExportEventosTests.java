@@ -0,0 +1,113 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportEventosTests {
+
+    // Mocks para el Servicio
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el Controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(eventoController, "objectMapper", objectMapper);
+    }
+
+    private Evento evento(long id) {
+        Evento evento = new Evento();
+        evento.setId(id);
+        evento.setNombre("Evento " + id);
+        evento.setFechaEvento(LocalDate.of(2024, 12, 1));
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    /**
+     * El servicio entrega cada evento al consumidor y lo separa del contexto de persistencia.
+     */
+    @Test
+    void testExportAll_Service() {
+        Evento evento1 = evento(1);
+        Evento evento2 = evento(2);
+        when(eventoRepository.streamAllMostrar()).thenReturn(Stream.of(evento1, evento2));
+
+        List<EventoDto> exportados = new ArrayList<>();
+        long total = eventoService.exportAll(exportados::add);
+
+        assertEquals(2, total);
+        assertEquals("Evento 2", exportados.get(1).getNombre());
+        verify(entityManager, times(1)).detach(evento1);
+        verify(entityManager, times(1)).detach(evento2);
+    }
+
+    /**
+     * El controlador escribe un objeto JSON por línea.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExport_Controller() throws Exception {
+        when(mockEventoService.exportAll(any())).thenAnswer(invocation -> {
+            Consumer<EventoDto> consumer = invocation.getArgument(0);
+            consumer.accept(EventoDto.of(evento(1)));
+            consumer.accept(EventoDto.of(evento(2)));
+            return 2L;
+        });
+
+        ResponseEntity<StreamingResponseBody> respuesta = eventoController.export();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        respuesta.getBody().writeTo(out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(2, lineas.length);
+        assertEquals("Evento 1", objectMapper.readTree(lineas[0]).get("nombre").asText());
+        assertEquals("2024-12-01", objectMapper.readTree(lineas[1]).get("fechaEvento").asText());
+    }
+}
@@ -0,0 +1,257 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoBusquedaDto;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoFiltroDto;
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.dto.EventoRecuentoDto;
+import com.capgeticket.evento.index.Centimos;
+import com.capgeticket.evento.index.FacetaIndex;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class FacetaIndexTests {
+
+    private static final LocalDate HOY = LocalDate.of(2024, 6, 1);
+
+    // Mocks para el índice
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FacetaIndex facetaIndex;
+
+    // Mocks para el servicio
+    @Mock
+    private FacetaIndex mockFacetaIndex;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(facetaIndex, "enabled", true);
+        ReflectionTestUtils.setField(eventoService, "facetaIndex", mockFacetaIndex);
+    }
+
+    private EventoDto evento(long id, String localidad, String genero, int precio, LocalDate fecha) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setLocalidad(localidad);
+        evento.setGenero(genero);
+        evento.setPrecio(BigDecimal.valueOf(precio));
+        evento.setFechaEvento(fecha);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    private void construir(EventoDto... eventos) {
+        when(eventoRepository.streamDtosMostrar()).thenReturn(Stream.of(eventos));
+        facetaIndex.construir();
+    }
+
+    private static EventoFiltroDto filtro(List<String> localidad, List<String> genero) {
+        EventoFiltroDto filtro = new EventoFiltroDto();
+        filtro.setLocalidad(localidad);
+        filtro.setGenero(genero);
+        return filtro;
+    }
+
+    /**
+     * Los filtros se combinan y cada faceta cuenta con todos los filtros salvo el suyo.
+     */
+    @Test
+    void testBuscar() {
+        construir(
+                evento(1, "Madrid", "Rock", 15, HOY),
+                evento(2, "Madrid", "Jazz", 45, HOY.plusDays(1)),
+                evento(3, "Sevilla", "Rock", 60, HOY.plusDays(2)),
+                evento(4, "sevilla ", "Rock", 120, HOY.plusDays(3)),
+                evento(5, "Valencia", "Pop", 20, HOY.plusDays(4)));
+
+        FacetaIndex.Resultado todos = facetaIndex.buscar(new EventoFiltroDto(), 0, 10);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), todos.ids());
+        assertEquals(Map.of("Madrid", 2, "Sevilla", 2, "Valencia", 1), todos.localidades());
+        assertEquals(List.of("Rock", "Jazz", "Pop"), List.copyOf(todos.generos().keySet()));
+        assertEquals(List.of("0-20", "20-50", "50-100", "100+"), List.copyOf(todos.precios().keySet()));
+
+        FacetaIndex.Resultado rock = facetaIndex.buscar(filtro(List.of("madrid", "Valencia"), List.of("ROCK")), 0, 10);
+        assertEquals(List.of(1L), rock.ids());
+        assertEquals(1, rock.total());
+        assertEquals(Map.of("Madrid", 1, "Sevilla", 2), rock.localidades());
+        assertEquals(Map.of("Rock", 1, "Jazz", 1, "Pop", 1), rock.generos());
+
+        EventoFiltroDto rango = new EventoFiltroDto();
+        rango.setDesde(HOY.plusDays(1));
+        rango.setPrecioMax(BigDecimal.valueOf(100));
+        FacetaIndex.Resultado enRango = facetaIndex.buscar(rango, 0, 2);
+        assertEquals(List.of(2L, 3L), enRango.ids());
+        assertTrue(enRango.hayMas());
+        assertEquals(3, enRango.total());
+        assertEquals(Map.of("20-50", 2, "50-100", 1, "100+", 1), enRango.precios());
+        assertEquals(List.of(5L), facetaIndex.buscar(rango, 3, 2).ids());
+    }
+
+    /**
+     * Los eventos creados aparecen, los editados cambian de faceta y los ocultos o eliminados desaparecen.
+     */
+    @Test
+    void testOnEventoCambiado() {
+        construir(
+                evento(1, "Madrid", "Rock", 15, HOY),
+                evento(2, "Madrid", "Jazz", 45, HOY));
+
+        facetaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 1L,
+                evento(1, "Bilbao", "Rock", 15, HOY)));
+        EventoDto oculto = evento(2, "Madrid", "Jazz", 45, HOY);
+        oculto.setMostrar(false);
+        facetaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 2L, oculto));
+        facetaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, 3L,
+                evento(3, "Madrid", "Pop", 80, HOY)));
+
+        FacetaIndex.Resultado resultado = facetaIndex.buscar(new EventoFiltroDto(), 0, 10);
+        assertEquals(List.of(1L, 3L), resultado.ids());
+        assertEquals(Map.of("Bilbao", 1, "Madrid", 1), resultado.localidades());
+        assertEquals(List.of(3L), facetaIndex.buscar(filtro(List.of("Madrid"), null), 0, 10).ids());
+
+        facetaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.ELIMINADO, 1L, null));
+        assertEquals(Map.of("Madrid", 1), facetaIndex.buscar(new EventoFiltroDto(), 0, 10).localidades());
+    }
+
+    /**
+     * Se devuelven los eventos cuyo rango de precios se solapa con el pedido, comparando en
+     * céntimos; los límites con fracciones de céntimo se redondean hacia dentro del rango.
+     */
+    @Test
+    void testBuscarPorPrecio() {
+        EventoDto barato = evento(1, "Madrid", "Rock", 15, HOY);
+        barato.setPrecioMinimo(new BigDecimal("10.00"));
+        barato.setPrecioMaximo(new BigDecimal("19.99"));
+        EventoDto medio = evento(2, "Madrid", "Rock", 40, HOY);
+        medio.setPrecioMinimo(new BigDecimal("20.00"));
+        medio.setPrecioMaximo(new BigDecimal("60.00"));
+        EventoDto caro = evento(3, "Madrid", "Rock", 150, HOY);
+        caro.setPrecioMinimo(new BigDecimal("100.00"));
+        caro.setPrecioMaximo(new BigDecimal("200.00"));
+        construir(barato, medio, caro);
+
+        assertEquals(List.of(1L, 2L), facetaIndex.buscarPorPrecio(1_999, 2_000, 0, 10));
+        assertEquals(List.of(2L, 3L), facetaIndex.buscarPorPrecio(5_000, Long.MAX_VALUE, 0, 10));
+        assertEquals(List.of(3L), facetaIndex.buscarPorPrecio(5_000, Long.MAX_VALUE, 2, 10));
+        assertEquals(List.of(), facetaIndex.buscarPorPrecio(6_001, 9_999, 0, 10));
+
+        assertEquals(1_000, Centimos.de(new BigDecimal("9.995")));
+        assertEquals(1_000, Centimos.de(new BigDecimal("9.991"), RoundingMode.CEILING));
+        assertEquals(Centimos.SIN_PRECIO, Centimos.de(null));
+        assertEquals(Long.MAX_VALUE, Centimos.de(new BigDecimal("1e30"), RoundingMode.FLOOR));
+    }
+
+    /**
+     * El servicio pide al índice una página más uno en céntimos, o a la base de datos si no está listo.
+     */
+    @Test
+    void testFindByPrice_Service() {
+        when(mockFacetaIndex.isListo()).thenReturn(true);
+        when(mockFacetaIndex.buscarPorPrecio(1_001, Long.MAX_VALUE, 0, 1)).thenReturn(List.of(1L, 2L));
+        when(eventoRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                evento(1, "Madrid", "Rock", 20, HOY), evento(2, "Madrid", "Rock", 20, HOY)));
+
+        EventoPageDto pagina = eventoService.findByPrice(new BigDecimal("10.001"), null, null, 1);
+        assertEquals(1, pagina.getEventos().size());
+        assertEquals(1L, EventoPageDto.decodeCursor(pagina.getNextCursor()));
+
+        when(mockFacetaIndex.isListo()).thenReturn(false);
+        when(eventoRepository.findPorPrecio(any(), eq(BigDecimal.TEN), eq(0L), any())).thenReturn(List.of());
+        assertNull(eventoService.findByPrice(null, BigDecimal.TEN, null, 10).getNextCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findByPrice(BigDecimal.TEN, BigDecimal.ONE, null, 10));
+    }
+
+    /**
+     * Mientras el índice no está listo el servicio consulta la página y los recuentos a la base
+     * de datos, con las claves normalizadas del filtro, y rechaza los rangos invertidos.
+     */
+    @Test
+    void testSearch_Service() {
+        when(mockFacetaIndex.isListo()).thenReturn(false);
+        when(eventoRepository.findBusqueda(any(), eq(0L), eq(Limit.of(3)))).thenReturn(List.of(
+                evento(1, "Madrid", "Rock", 10, HOY), evento(2, "Madrid", "Rock", 10, HOY),
+                evento(3, "Sevilla", "Pop", 60, HOY)));
+        when(eventoRepository.countBusqueda(any())).thenReturn(5L);
+        when(eventoRepository.countBusquedaPorLocalidad(any())).thenReturn(List.of(
+                new EventoRecuentoDto("Sevilla", 1L), new EventoRecuentoDto("Madrid", 4L)));
+        when(eventoRepository.countBusquedaPorGenero(any())).thenReturn(List.of(
+                new EventoRecuentoDto("Pop", 1L), new EventoRecuentoDto("Rock", 4L)));
+        when(eventoRepository.countBusquedaPorPrecio(any())).thenReturn(List.of(
+                new EventoRecuentoDto("50-100", 1L), new EventoRecuentoDto("0-20", 4L)));
+
+        EventoBusquedaDto busqueda = eventoService.search(filtro(List.of("Ávila", "avila "), null), null, 2);
+
+        assertEquals(2, busqueda.getEventos().size());
+        assertEquals(2L, EventoPageDto.decodeCursor(busqueda.getNextCursor()));
+        assertEquals(5, busqueda.getTotal());
+        assertEquals(List.of("Madrid", "Sevilla"), List.copyOf(busqueda.getLocalidades().keySet()));
+        assertEquals(List.of("0-20", "50-100"), List.copyOf(busqueda.getPrecios().keySet()));
+        verify(eventoRepository).countBusqueda(argThat(b -> b.clavesLocalidad().equals(List.of("avila"))
+                && !b.porGenero() && b.desde().equals(LocalDate.of(1, 1, 1))));
+        verify(mockFacetaIndex, never()).buscar(any(), anyLong(), anyInt());
+
+        EventoFiltroDto invertido = new EventoFiltroDto();
+        invertido.setPrecioMin(BigDecimal.TEN);
+        invertido.setPrecioMax(BigDecimal.ONE);
+        assertThrows(IllegalArgumentException.class, () -> eventoService.search(invertido, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.search(null, null, 0));
+    }
+
+    /**
+     * El controlador devuelve el resultado del servicio.
+     */
+    @Test
+    void testSearch_Controller() {
+        EventoFiltroDto filtro = filtro(List.of("Madrid"), null);
+        when(mockEventoService.search(filtro, null, 50)).thenReturn(
+                EventoBusquedaDto.of(List.of(), null, 0, Map.of(), Map.of(), Map.of()));
+
+        ResponseEntity<EventoBusquedaDto> respuesta = eventoController.search(filtro, null, 50);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(0, respuesta.getBody().getTotal());
+    }
+}
@@ -0,0 +1,200 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import com.capgeticket.evento.service.EventosCreadosEvent;
+import com.capgeticket.evento.stream.FeedCambios;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCambiosTests {
+
+    private static final Pattern ID = Pattern.compile("id:(\\S+)\n");
+
+    private FeedCambios feedCambios;
+
+    /**
+     * Conexión SSE que guarda el texto de cada mensaje enviado y que puede bloquearse para
+     * simular un cliente lento.
+     */
+    static class EmitterPrueba extends SseEmitter {
+        final BlockingQueue<String> enviados = new LinkedBlockingQueue<>();
+        final CountDownLatch desbloquear = new CountDownLatch(1);
+        volatile boolean lento = false;
+        volatile boolean completado = false;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (lento) {
+                try {
+                    desbloquear.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder texto = new StringBuilder();
+            builder.build().forEach(parte -> texto.append(parte.getData()));
+            enviados.add(texto.toString());
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+
+        String siguiente() throws InterruptedException {
+            String mensaje = enviados.poll(5, TimeUnit.SECONDS);
+            assertNotNull(mensaje, "No se recibió ningún mensaje");
+            return mensaje;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        feedCambios = new FeedCambios();
+    }
+
+    private void publicar(EventoCambiadoEvent.Tipo tipo, long id) {
+        feedCambios.onEventoCambiado(new EventoCambiadoEvent(tipo, id, null));
+    }
+
+    private static String id(String mensaje) {
+        Matcher matcher = ID.matcher(mensaje);
+        assertTrue(matcher.find(), mensaje);
+        return matcher.group(1);
+    }
+
+    /**
+     * Los clientes conectados reciben cada cambio con el tipo como nombre del mensaje.
+     */
+    @Test
+    void testCambiosEnVivo() throws Exception {
+        EmitterPrueba emitter = new EmitterPrueba();
+        feedCambios.suscribir(null, emitter);
+
+        publicar(EventoCambiadoEvent.Tipo.CREADO, 1L);
+        publicar(EventoCambiadoEvent.Tipo.ELIMINADO, 1L);
+
+        assertTrue(emitter.siguiente().contains("event:CREADO"));
+        assertTrue(emitter.siguiente().contains("event:ELIMINADO"));
+        assertEquals(1, feedCambios.getClientes());
+    }
+
+    /**
+     * Un cliente que se reconecta con Last-Event-ID recibe los cambios que se perdió.
+     */
+    @Test
+    void testRepeticionDesdeLastEventId() throws Exception {
+        EmitterPrueba primero = new EmitterPrueba();
+        feedCambios.suscribir(null, primero);
+        publicar(EventoCambiadoEvent.Tipo.CREADO, 1L);
+        publicar(EventoCambiadoEvent.Tipo.CREADO, 2L);
+        publicar(EventoCambiadoEvent.Tipo.EDITADO, 1L);
+        String ultimoVisto = id(primero.siguiente());
+
+        EmitterPrueba reconectado = new EmitterPrueba();
+        feedCambios.suscribir(ultimoVisto, reconectado);
+
+        assertTrue(reconectado.siguiente().contains("id=2"));
+        assertTrue(reconectado.siguiente().contains("event:EDITADO"));
+        assertNull(reconectado.enviados.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Si los cambios ya no están en el búfer, o el id es de otro arranque, se pide recargar todo.
+     */
+    @Test
+    void testResetSiNoSePuedeRepetir() throws Exception {
+        ReflectionTestUtils.setField(feedCambios, "replaySize", 2);
+        EmitterPrueba primero = new EmitterPrueba();
+        feedCambios.suscribir(null, primero);
+        for (long i = 1; i <= 4; i++) {
+            publicar(EventoCambiadoEvent.Tipo.CREADO, i);
+        }
+        String antiguo = id(primero.siguiente());
+
+        EmitterPrueba tarde = new EmitterPrueba();
+        feedCambios.suscribir(antiguo, tarde);
+        assertTrue(tarde.siguiente().contains("event:" + FeedCambios.RESET));
+
+        EmitterPrueba otraInstancia = new EmitterPrueba();
+        feedCambios.suscribir("otra:3", otraInstancia);
+        assertTrue(otraInstancia.siguiente().contains("event:" + FeedCambios.RESET));
+    }
+
+    /**
+     * Un cliente que no lee a tiempo se desconecta sin bloquear la publicación ni a los demás.
+     */
+    @Test
+    void testClienteLentoSeDesconecta() throws Exception {
+        ReflectionTestUtils.setField(feedCambios, "clientQueueSize", 2);
+        EmitterPrueba lento = new EmitterPrueba();
+        lento.lento = true;
+        EmitterPrueba rapido = new EmitterPrueba();
+        feedCambios.suscribir(null, lento);
+        feedCambios.suscribir(null, rapido);
+
+        for (long i = 1; i <= 10; i++) {
+            publicar(EventoCambiadoEvent.Tipo.CREADO, i);
+            // Deja vaciar su cola al cliente rápido
+            rapido.siguiente();
+        }
+
+        assertTrue(lento.completado);
+        assertEquals(1, feedCambios.getClientes());
+        lento.desbloquear.countDown();
+    }
+
+    /**
+     * Un alta en lote del tamaño máximo llega como un único mensaje: no llena la cola de un
+     * cliente lento ni saca del búfer los cambios anteriores.
+     */
+    @Test
+    void testAltaEnLoteEsUnSoloMensaje() throws Exception {
+        ReflectionTestUtils.setField(feedCambios, "clientQueueSize", 2);
+        ReflectionTestUtils.setField(feedCambios, "replaySize", 2);
+        EmitterPrueba lento = new EmitterPrueba();
+        lento.lento = true;
+        EmitterPrueba primero = new EmitterPrueba();
+        feedCambios.suscribir(null, lento);
+        feedCambios.suscribir(null, primero);
+        publicar(EventoCambiadoEvent.Tipo.EDITADO, 1L);
+        String antesDelLote = id(primero.siguiente());
+
+        List<EventoDto> eventos = new ArrayList<>();
+        for (long i = 1; i <= EventoServiceImpl.MAX_BULK_SIZE; i++) {
+            EventoDto evento = new EventoDto();
+            evento.setId(i);
+            eventos.add(evento);
+        }
+        feedCambios.onEventosCreados(new EventosCreadosEvent(eventos));
+
+        assertFalse(lento.completado);
+        assertEquals(2, feedCambios.getClientes());
+        lento.desbloquear.countDown();
+        assertTrue(lento.siguiente().contains("event:EDITADO"));
+        String lote = lento.siguiente();
+        assertTrue(lote.contains("event:" + FeedCambios.CREADOS));
+        assertTrue(lote.contains("EventoDto(id=" + EventoServiceImpl.MAX_BULK_SIZE + ","));
+
+        // Quien se desconectó justo antes del lote lo recupera del búfer, sin recargar todo
+        EmitterPrueba reconectado = new EmitterPrueba();
+        feedCambios.suscribir(antesDelLote, reconectado);
+        assertTrue(reconectado.siguiente().contains("event:" + FeedCambios.CREADOS));
+    }
+}
@@ -2,7 +2,6 @@ package com.capgeticket.evento;
 
 import com.capgeticket.evento.controller.EventoController;
 import com.capgeticket.evento.dto.EventoDto;
-import com.capgeticket.evento.model.Evento;
 import com.capgeticket.evento.repository.EventoRepository;
 import com.capgeticket.evento.service.EventoService;
 import com.capgeticket.evento.service.EventoServiceImpl;
@@ -51,11 +50,11 @@ public class FindAllEventos01 {
     @Test
     void testFindAllServiceWithData() {
         // Simular datos en la base de datos
-        Evento evento1 = new Evento();
+        EventoDto evento1 = new EventoDto();
         evento1.setNombre("Evento 1");
         evento1.setMostrar(true);
 
-        Evento evento2 = new Evento();
+        EventoDto evento2 = new EventoDto();
         evento2.setNombre("Evento 2");
         evento2.setMostrar(true);
 
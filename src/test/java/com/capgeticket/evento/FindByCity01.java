@@ -58,16 +58,16 @@ class FindByCity01 {
     @Test
     void testFindByCityWithElements_Repository() {
         // Simular datos en el repositorio
-        Evento evento1 = new Evento();
+        EventoDto evento1 = new EventoDto();
         evento1.setNombre("Evento 1");
 
-        Evento evento2 = new Evento();
+        EventoDto evento2 = new EventoDto();
         evento2.setNombre("Evento 2");
 
         when(eventoRepository.findByCity("Madrid")).thenReturn(Arrays.asList(evento1, evento2));
 
         // Llamar al método del servicio
-        List<Evento> result = eventoRepository.findByCity("Madrid");
+        List<EventoDto> result = eventoRepository.findByCity("Madrid");
 
         // Verificar que devuelve una lista con 2 elementos
         assertEquals(2, result.size());
@@ -79,10 +79,10 @@ class FindByCity01 {
     @Test
     void testFindByCityWithElements_Service() {
         // Simular datos en el repositorio
-        Evento evento1 = new Evento();
+        EventoDto evento1 = new EventoDto();
         evento1.setNombre("Evento 1");
 
-        Evento evento2 = new Evento();
+        EventoDto evento2 = new EventoDto();
         evento2.setNombre("Evento 2");
 
         when(eventoRepository.findByCity("Madrid")).thenReturn(Arrays.asList(evento1, evento2));
@@ -125,7 +125,7 @@ class FindByCity01 {
         when(eventoRepository.findByCity("Madrid")).thenReturn(Collections.emptyList());
 
         // Llamar al método del servicio
-        List<Evento> result = eventoRepository.findByCity("Madrid");
+        List<EventoDto> result = eventoRepository.findByCity("Madrid");
 
         // Verificar que devuelve una lista vacía
         assertEquals(0, result.size());
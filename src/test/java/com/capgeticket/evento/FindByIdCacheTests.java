@@ -0,0 +1,174 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.config.CacheConfig;
+import com.capgeticket.evento.dto.EventoBatchDto;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.index.FacetaIndex;
+import com.capgeticket.evento.index.NombreIndex;
+import com.capgeticket.evento.index.ProximosIndex;
+import com.capgeticket.evento.index.SugerenciaIndex;
+import com.capgeticket.evento.model.Evento;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la caché de eventos por id sobre el proxy real del servicio.
+ */
+@SpringJUnitConfig
+class FindByIdCacheTests {
+
+    @Configuration
+    @Import({CacheConfig.class, EventoServiceImpl.class})
+    static class TestConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.EVENTOS_CACHE);
+        }
+
+        // Convierte propiedades como "5s" a Duration, igual que en la aplicación
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @MockBean
+    private EventoRepository eventoRepository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private NombreIndex nombreIndex;
+
+    @MockBean
+    private SugerenciaIndex sugerenciaIndex;
+
+    @MockBean
+    private FacetaIndex facetaIndex;
+
+    @MockBean
+    private ProximosIndex proximosIndex;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.EVENTOS_CACHE).clear();
+    }
+
+    private Evento evento(long id, String nombre) {
+        Evento evento = new Evento();
+        evento.setId(id);
+        evento.setNombre(nombre);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    /**
+     * La segunda búsqueda del mismo id se sirve desde la caché.
+     */
+    @Test
+    void testFindByIdIsCached() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento(1L, "Concierto")));
+
+        eventoService.findById(1L);
+        EventoDto resultado = eventoService.findById(1L);
+
+        assertEquals("Concierto", resultado.getNombre());
+        verify(eventoRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Borrar un evento invalida su entrada en la caché.
+     */
+    @Test
+    void testDeleteEvictsCache() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento(1L, "Concierto")));
+        when(eventoRepository.softDeleteById(1L)).thenReturn(1);
+        when(eventoRepository.findByIdIn(List.of(1L))).thenReturn(List.of(new EventoDto()));
+
+        eventoService.findById(1L);
+        eventoService.deleteById(1L);
+        eventoService.findById(1L);
+
+        verify(eventoRepository, times(2)).findById(1L);
+    }
+
+    /**
+     * Añadir un evento deja su DTO en la caché y la búsqueda posterior no consulta la base de datos.
+     */
+    @Test
+    void testAddPutsInCache() {
+        when(eventoRepository.save(any(Evento.class))).thenReturn(evento(2L, "Teatro"));
+
+        EventoDto nuevo = new EventoDto();
+        nuevo.setNombre("Teatro");
+        eventoService.add(nuevo);
+
+        assertEquals("Teatro", eventoService.findById(2L).getNombre());
+        verify(eventoRepository, never()).findById(2L);
+    }
+
+    /**
+     * La búsqueda en lote toma de la caché los eventos que ya están, obtiene el resto con
+     * una sola consulta, los deja en la caché e informa de los ids que no existen.
+     */
+    @Test
+    void testFindBatch() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(evento(1L, "Concierto")));
+        when(eventoRepository.findByIdIn(List.of(3L, 2L, 4L)))
+                .thenReturn(List.of(EventoDto.of(evento(2L, "Teatro")), EventoDto.of(evento(3L, "Ópera"))));
+        eventoService.findById(1L);
+
+        EventoBatchDto batch = eventoService.findBatch(List.of(3L, 1L, 2L, 4L, 3L));
+
+        assertEquals(List.of("Ópera", "Concierto", "Teatro"), batch.getEventos().stream().map(EventoDto::getNombre).toList());
+        assertEquals(List.of(4L), batch.getNoEncontrados());
+        verify(eventoRepository, times(1)).findByIdIn(any());
+
+        assertEquals("Teatro", eventoService.findById(2L).getNombre());
+        verify(eventoRepository, never()).findById(2L);
+    }
+
+    /**
+     * Los lotes vacíos, con nulos o mayores que el máximo se rechazan sin consultar la base de datos.
+     */
+    @Test
+    void testFindBatchInvalido() {
+        List<Long> demasiados = LongStream.rangeClosed(1, EventoServiceImpl.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findBatch(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findBatch(Collections.singletonList(null)));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findBatch(demasiados));
+        verify(eventoRepository, never()).findByIdIn(any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoCambiosDto;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FindChangesTests {
+
+    private static final long CAMBIO = 42L;
+
+    // Mocks para el Servicio
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el Controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private EventoDto evento(long id, boolean mostrar, long cambio) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setNombre("Evento " + id);
+        evento.setMostrar(mostrar);
+        evento.setCambio(cambio);
+        return evento;
+    }
+
+    /**
+     * La primera sincronización parte del inicio; los ocultos se devuelven como eliminados y la
+     * marca siguiente es la del último cambio devuelto.
+     */
+    @Test
+    void testFindChanges_Service() {
+        when(eventoRepository.findCambios(0L, 0L, Limit.of(3))).thenReturn(List.of(
+                evento(1, true, CAMBIO), evento(2, false, CAMBIO), evento(3, true, CAMBIO + 1)));
+
+        EventoCambiosDto cambios = eventoService.findChanges(null, 2);
+
+        assertEquals(List.of(1L), cambios.getEventos().stream().map(EventoDto::getId).toList());
+        assertEquals(List.of(2L), cambios.getEliminados());
+        assertTrue(cambios.isHasMore());
+        assertEquals(new EventoCambiosDto.Marca(CAMBIO, 2L), EventoCambiosDto.decodeSince(cambios.getNextSince()));
+    }
+
+    /**
+     * Sin cambios nuevos la marca no avanza; las marcas y límites no válidos se rechazan.
+     */
+    @Test
+    void testFindChangesFromSince_Service() {
+        String since = EventoCambiosDto.encodeSince(new EventoCambiosDto.Marca(CAMBIO, 7L));
+        when(eventoRepository.findCambios(eq(CAMBIO), eq(7L), any())).thenReturn(List.of());
+
+        EventoCambiosDto cambios = eventoService.findChanges(since, 10);
+
+        assertTrue(cambios.getEventos().isEmpty());
+        assertFalse(cambios.isHasMore());
+        assertEquals(since, cambios.getNextSince());
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findChanges("no-es-una-marca", 10));
+        // Las marcas antiguas, por fecha, ya no se aceptan
+        String antigua = Base64.getUrlEncoder().withoutPadding().encodeToString("1717236000123456:7".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findChanges(antigua, 10));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findChanges(null, EventoServiceImpl.MAX_CHANGES_SIZE + 1));
+    }
+
+    /**
+     * El controlador devuelve los cambios del servicio.
+     */
+    @Test
+    void testFindChanges_Controller() {
+        EventoCambiosDto cambios = EventoCambiosDto.of(List.of(), List.of(4L), "marca", false);
+        when(mockEventoService.findChanges("anterior", 500)).thenReturn(cambios);
+
+        ResponseEntity<EventoCambiosDto> respuesta = eventoController.findChanges("anterior", 500);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(List.of(4L), respuesta.getBody().getEliminados());
+    }
+}
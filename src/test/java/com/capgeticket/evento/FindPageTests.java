@@ -0,0 +1,116 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoPageDto;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FindPageTests {
+
+    // Mocks para el Servicio
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el Controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private EventoDto evento(long id) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setNombre("Evento " + id);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    /**
+     * Si el repositorio devuelve más elementos que el límite, se recorta la página y se devuelve cursor.
+     */
+    @Test
+    void testFindPageWithNextPage_Service() {
+        when(eventoRepository.findPageMostrar(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(evento(1), evento(2), evento(3)));
+
+        EventoPageDto page = eventoService.findPage(null, 2);
+
+        assertEquals(2, page.getEventos().size());
+        assertEquals("Evento 2", page.getEventos().getLast().getNombre());
+        assertEquals(2L, EventoPageDto.decodeCursor(page.getNextCursor()));
+    }
+
+    /**
+     * La última página no tiene cursor siguiente y el cursor recibido se usa como punto de partida.
+     */
+    @Test
+    void testFindPageLastPage_Service() {
+        String cursor = EventoPageDto.encodeCursor(2L);
+        when(eventoRepository.findPageMostrar(2L, Limit.of(3)))
+                .thenReturn(Collections.singletonList(evento(3)));
+
+        EventoPageDto page = eventoService.findPage(cursor, 2);
+
+        assertEquals(1, page.getEventos().size());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Un límite fuera de rango o un cursor corrupto se rechazan sin consultar la base de datos.
+     */
+    @Test
+    void testFindPageInvalidParams_Service() {
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findPage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventoService.findPage(null, EventoServiceImpl.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findPage("no-es-un-cursor", 10));
+
+        verify(eventoRepository, never()).findPageMostrar(anyLong(), any(Limit.class));
+    }
+
+    /**
+     * El controlador devuelve la página tal y como la construye el servicio.
+     */
+    @Test
+    void testFindPage_Controller() {
+        EventoDto evento1 = new EventoDto();
+        evento1.setNombre("Evento 1");
+        EventoPageDto page = EventoPageDto.of(List.of(evento1), "MQ");
+
+        when(mockEventoService.findPage(null, 50)).thenReturn(page);
+
+        ResponseEntity<EventoPageDto> respuesta = eventoController.findPage(null, 50);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(1, respuesta.getBody().getEventos().size());
+        assertEquals("MQ", respuesta.getBody().getNextCursor());
+    }
+}
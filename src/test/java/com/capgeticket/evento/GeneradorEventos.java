@@ -0,0 +1,135 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.model.Evento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generador de eventos sintéticos con distribuciones sesgadas parecidas a las reales:
+ * pocas ciudades y géneros concentran la mayoría de eventos (distribución de Zipf), las
+ * fechas se acumulan en los próximos meses y los precios siguen una log-normal.
+ * Con la misma semilla genera siempre la misma secuencia.
+ */
+public class GeneradorEventos {
+
+    static final String[] CIUDADES = {"Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao", "Málaga",
+            "Zaragoza", "Murcia", "Palma", "Alicante", "Córdoba", "Valladolid", "Vigo", "Gijón",
+            "A Coruña", "Granada", "Vitoria", "Oviedo", "Pamplona", "Santander"};
+    static final String[] GENEROS = {"Música", "Teatro", "Deportes", "Comedia", "Danza", "Familiar", "Ópera", "Circo"};
+    static final String[] TIPOS = {"Concierto", "Festival", "Gira", "Gala", "Espectáculo", "Musical", "Tributo", "Noche"};
+    static final String[] PALABRAS = {"Rock", "Jazz", "Flamenco", "Clásica", "Pop", "Indie", "Electrónica",
+            "Zarzuela", "León", "Acústico", "Verano", "Invierno", "Leyendas", "Estrellas", "Orquesta", "Sinfónica"};
+
+    private final Random random;
+    private final double[] pesosCiudades;
+    private final double[] pesosGeneros;
+    private final LocalDate hoy = LocalDate.now();
+    private long secuencia;
+
+    public GeneradorEventos(long semilla) {
+        this.random = new Random(semilla);
+        this.pesosCiudades = zipf(CIUDADES.length, 1.1);
+        this.pesosGeneros = zipf(GENEROS.length, 1.3);
+    }
+
+    /**
+     * Crea un evento nuevo, sin id.
+     */
+    public Evento evento() {
+        Evento evento = new Evento();
+        long n = secuencia++;
+        String ciudad = ciudad();
+        evento.setNombre(TIPOS[random.nextInt(TIPOS.length)] + " " + palabra() + " " + n);
+        evento.setDescripcion("Evento generado número " + n + " en " + ciudad);
+        evento.setFechaEvento(fecha());
+        BigDecimal precio = precio();
+        evento.setPrecio(precio);
+        evento.setPrecioMinimo(precio.multiply(new BigDecimal("0.6")).setScale(2, RoundingMode.HALF_UP));
+        evento.setPrecioMaximo(precio.multiply(new BigDecimal("2.5")).setScale(2, RoundingMode.HALF_UP));
+        evento.setLocalidad(ciudad);
+        evento.setNombreDelRecinto("Recinto " + ciudad + " " + random.nextInt(10));
+        evento.setGenero(genero());
+        // Uno de cada veinte eventos está oculto
+        evento.setMostrar(random.nextInt(20) != 0);
+        return evento;
+    }
+
+    /**
+     * Crea un evento nuevo en formato DTO, sin id.
+     */
+    public EventoDto eventoDto() {
+        EventoDto dto = EventoDto.of(evento());
+        dto.setMostrar(true);
+        return dto;
+    }
+
+    /**
+     * Una ciudad con el mismo sesgo que los eventos generados.
+     */
+    public String ciudad() {
+        return CIUDADES[elegir(pesosCiudades)];
+    }
+
+    /**
+     * Un género con el mismo sesgo que los eventos generados.
+     */
+    public String genero() {
+        return GENEROS[elegir(pesosGeneros)];
+    }
+
+    /**
+     * Una palabra de las usadas en los nombres, para las búsquedas.
+     */
+    public String palabra() {
+        return PALABRAS[random.nextInt(PALABRAS.length)];
+    }
+
+    public Random random() {
+        return random;
+    }
+
+    /**
+     * Fecha entre seis meses atrás y un año adelante, concentrada en las próximas semanas.
+     */
+    private LocalDate fecha() {
+        if (random.nextInt(5) == 0) {
+            return hoy.minusDays(1 + random.nextInt(180));
+        }
+        double dias = -Math.log(1 - random.nextDouble()) * 60;
+        return hoy.plusDays(Math.min(365, Math.round(dias)));
+    }
+
+    /**
+     * Precio log-normal con mediana de unos 35 euros.
+     */
+    private BigDecimal precio() {
+        double precio = Math.exp(Math.log(35) + random.nextGaussian() * 0.6);
+        return BigDecimal.valueOf(Math.max(5, Math.min(500, precio))).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private int elegir(double[] acumulados) {
+        int i = Arrays.binarySearch(acumulados, random.nextDouble());
+        return Math.min(i < 0 ? -i - 1 : i, acumulados.length - 1);
+    }
+
+    /**
+     * Pesos acumulados de una distribución de Zipf con n valores y exponente s.
+     */
+    private static double[] zipf(int n, double s) {
+        double[] acumulados = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, s);
+            acumulados[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulados[k] /= total;
+        }
+        return acumulados;
+    }
+}
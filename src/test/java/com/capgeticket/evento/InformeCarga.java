@@ -0,0 +1,96 @@
+package com.capgeticket.evento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recoge las latencias de una prueba de carga por endpoint y genera el informe con
+ * el rendimiento y los percentiles de cada uno.
+ */
+public class InformeCarga {
+
+    private static final Logger logger = LoggerFactory.getLogger(InformeCarga.class);
+
+    private final Map<String, Registro> registros = new ConcurrentHashMap<>();
+
+    /**
+     * Latencias y resultados de un endpoint.
+     */
+    static class Registro {
+        private long[] latencias = new long[1024];
+        private int peticiones;
+        private int erroresCliente;
+        private int errores;
+
+        synchronized void anotar(long nanos, int status) {
+            if (peticiones == latencias.length) {
+                latencias = Arrays.copyOf(latencias, peticiones * 2);
+            }
+            latencias[peticiones++] = nanos;
+            if (status >= 500 || status < 0) {
+                errores++;
+            } else if (status >= 400) {
+                erroresCliente++;
+            }
+        }
+    }
+
+    /**
+     * Anota una petición.
+     *
+     * @param endpoint el nombre del endpoint.
+     * @param nanos    la latencia de la petición.
+     * @param status   el código HTTP de la respuesta, o -1 si no hubo respuesta.
+     */
+    public void anotar(String endpoint, long nanos, int status) {
+        registros.computeIfAbsent(endpoint, k -> new Registro()).anotar(nanos, status);
+    }
+
+    /**
+     * @return el número de peticiones con error de servidor o sin respuesta.
+     */
+    public int errores() {
+        return registros.values().stream().mapToInt(r -> r.errores).sum();
+    }
+
+    /**
+     * Escribe el informe en el log y en un CSV.
+     *
+     * @param duracionNanos la duración de la fase medida.
+     * @param csv           el fichero donde escribir el informe.
+     */
+    public void escribir(long duracionNanos, Path csv) throws IOException {
+        double segundos = duracionNanos / 1e9;
+        StringBuilder tabla = new StringBuilder(String.format("%n%-10s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "peticiones", "4xx", "errores", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        Files.createDirectories(csv.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+            out.println("endpoint,peticiones,4xx,errores,req_s,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Map.Entry<String, Registro> entrada : new TreeMap<>(registros).entrySet()) {
+                Registro r = entrada.getValue();
+                long[] latencias = Arrays.copyOf(r.latencias, r.peticiones);
+                Arrays.sort(latencias);
+                Object[] fila = {entrada.getKey(), r.peticiones, r.erroresCliente, r.errores, r.peticiones / segundos,
+                        percentil(latencias, 0.50), percentil(latencias, 0.95), percentil(latencias, 0.99),
+                        latencias[latencias.length - 1] / 1e6};
+                tabla.append(String.format("%-10s %9d %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", fila));
+                out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f", fila));
+            }
+        }
+        logger.info("Resultado de la prueba de carga ({} s):{}", String.format("%.1f", segundos), tabla);
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        return ordenadas[Math.min(ordenadas.length - 1, (int) Math.ceil(p * ordenadas.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,23 @@
+package com.capgeticket.evento;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Simula la latencia de red con la base de datos en las pruebas de carga: cada sentencia
+ * espera {@code carga.latencia-ms} milisegundos (5 por defecto) antes de prepararse,
+ * manteniendo la conexión ocupada igual que un viaje de ida y vuelta a Postgres.
+ */
+public class LatenciaStatementInspector implements StatementInspector {
+
+    private static final long LATENCIA_MS = Long.getLong("carga.latencia-ms", 5);
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            Thread.sleep(LATENCIA_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
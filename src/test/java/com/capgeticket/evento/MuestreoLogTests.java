@@ -0,0 +1,69 @@
+package com.capgeticket.evento;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.capgeticket.evento.logging.MuestreoLogFilter;
+import com.capgeticket.evento.logging.MuestreoTurboFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MuestreoLogTests {
+
+    private final MuestreoTurboFilter turboFilter = new MuestreoTurboFilter();
+    private final ch.qos.logback.classic.Logger logger = new LoggerContext().getLogger("prueba");
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    private String muestreoDuranteLaPeticion(double sampleRate) throws Exception {
+        MuestreoLogFilter filter = new MuestreoLogFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", sampleRate);
+        AtomicReference<String> muestreo = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> muestreo.set(MDC.get(MuestreoTurboFilter.MDC_MUESTREO)));
+
+        assertNull(MDC.get(MuestreoTurboFilter.MDC_MUESTREO));
+        return muestreo.get();
+    }
+
+    /**
+     * El filtro marca la petición según la tasa de muestreo y limpia el MDC al terminar.
+     */
+    @Test
+    void testFiltroMarcaLaPeticion() throws Exception {
+        assertEquals("false", muestreoDuranteLaPeticion(0.0));
+        assertEquals("true", muestreoDuranteLaPeticion(0.999999999));
+        // Con tasa 1.0 no se marca nada y se escriben todos los logs
+        assertNull(muestreoDuranteLaPeticion(1.0));
+    }
+
+    /**
+     * En una petición no muestreada se descartan INFO y DEBUG, pero nunca WARN ni ERROR.
+     */
+    @Test
+    void testTurboFilterDescartaSoloPorDebajoDeWarn() {
+        MDC.put(MuestreoTurboFilter.MDC_MUESTREO, "false");
+        assertEquals(FilterReply.DENY, turboFilter.decide(null, logger, Level.INFO, "mensaje", null, null));
+        assertEquals(FilterReply.DENY, turboFilter.decide(null, logger, Level.DEBUG, "mensaje", null, null));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.WARN, "mensaje", null, null));
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.ERROR, "mensaje", null, null));
+
+        MDC.put(MuestreoTurboFilter.MDC_MUESTREO, "true");
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.INFO, "mensaje", null, null));
+
+        MDC.clear();
+        assertEquals(FilterReply.NEUTRAL, turboFilter.decide(null, logger, Level.INFO, "mensaje", null, null));
+    }
+}
@@ -0,0 +1,220 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.index.IndiceEventos;
+import com.capgeticket.evento.index.NombreIndex;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import com.capgeticket.evento.service.EventosCreadosEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class NombreIndexTests {
+
+    /** Mismo tamaño de lote que IndiceEventos, que no es público. */
+    private static final int LOTE_CAMBIOS = 1000;
+
+    // Mocks para el índice
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NombreIndex nombreIndex;
+
+    // Mocks para el servicio
+    @Mock
+    private NombreIndex mockNombreIndex;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(nombreIndex, "enabled", true);
+        ReflectionTestUtils.setField(eventoService, "nombreIndex", mockNombreIndex);
+    }
+
+    private void construir(EventoDto... eventos) {
+        when(eventoRepository.streamDtos()).thenReturn(Stream.of(eventos));
+        nombreIndex.construir();
+    }
+
+    private List<Long> buscar(String texto) {
+        return nombreIndex.buscar(texto).stream().map(EventoDto::getId).toList();
+    }
+
+    private EventoDto evento(long id, String nombre) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setNombre(nombre);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    /**
+     * El índice encuentra los nombres que contienen el texto sin distinguir mayúsculas,
+     * también con textos más cortos que un trigrama y con comodines de LIKE.
+     */
+    @Test
+    void testBuscar() {
+        construir(evento(1, "Concierto de Rock"),
+                evento(2, "Rock al 100%"),
+                evento(3, "Teatro"),
+                evento(4, null));
+
+        assertTrue(nombreIndex.isListo());
+        assertEquals(List.of(1L, 2L), buscar("ROCK"));
+        assertEquals(List.of(1L), buscar("o de r"));
+        assertEquals(List.of(2L), buscar("100%"));
+        assertEquals(List.of(1L, 3L), buscar("t"));
+        assertEquals(List.of(), buscar("%%"));
+        assertEquals(List.of(), buscar("Jazz"));
+    }
+
+    /**
+     * Los cambios recibidos durante la construcción se aplican al terminar y los
+     * posteriores se aplican directamente.
+     */
+    @Test
+    void testOnEventoCambiado() {
+        nombreIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, 2L, evento(2, "Festival de Jazz")));
+        assertFalse(nombreIndex.isListo());
+
+        construir(evento(1, "Concierto de Rock"));
+        assertEquals(List.of(2L), buscar("jazz"));
+
+        nombreIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 1L, evento(1, "Concierto de Jazz")));
+        EventoDto oculto = evento(2, "Festival de Jazz");
+        oculto.setMostrar(false);
+        nombreIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.ELIMINADO, 2L, oculto));
+
+        assertEquals(List.of(1L, 2L), buscar("jazz"));
+        assertEquals(List.of(), buscar("rock"));
+        assertEquals("Concierto de Jazz", nombreIndex.buscar("jazz").get(0).getNombre());
+        assertFalse(nombreIndex.buscar("jazz").get(1).getMostrar());
+    }
+
+    /**
+     * Un alta en lote añade al índice todos sus eventos.
+     */
+    @Test
+    void testOnEventosCreados() {
+        construir(evento(1L, "Concierto de Rock"));
+
+        nombreIndex.onEventosCreados(new EventosCreadosEvent(List.of(evento(2, "Rock en el parque"), evento(3, "Teatro"))));
+
+        assertEquals(List.of(1L, 2L), buscar("rock"));
+        assertEquals(List.of(3L), buscar("teatro"));
+    }
+
+    /**
+     * Los cambios hechos por otras instancias no llegan como avisos: antes de cada consulta
+     * el índice lee de la base de datos los eventos modificados desde el último cambio
+     * aplicado, y no vuelve a leerlos mientras el contador no avance.
+     */
+    @Test
+    void testPonerAlDia() {
+        when(eventoRepository.findCambioActual()).thenReturn(4L);
+        construir(evento(1, "Concierto de Rock"), evento(2, "Teatro"));
+
+        EventoDto editado = evento(1, "Concierto de Jazz");
+        editado.setCambio(5L);
+        EventoDto oculto = evento(2, "Teatro");
+        oculto.setMostrar(false);
+        oculto.setCambio(6L);
+        when(eventoRepository.findCambioActual()).thenReturn(6L);
+        when(eventoRepository.findCambios(4L, Long.MAX_VALUE, Limit.of(LOTE_CAMBIOS))).thenReturn(List.of(editado, oculto));
+
+        assertEquals(List.of(1L), buscar("jazz"));
+        assertFalse(nombreIndex.buscar("teatro").getFirst().getMostrar());
+        verify(eventoRepository, times(1)).findCambios(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * Si la construcción falla el índice no se activa ni guarda los cambios posteriores,
+     * que el siguiente intento leerá de la base de datos.
+     */
+    @Test
+    void testConstruirConError() {
+        when(eventoRepository.streamDtos()).thenThrow(new IllegalStateException("Sin conexión"));
+
+        nombreIndex.construir();
+        nombreIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, 2L, evento(2, "Festival de Jazz")));
+
+        assertFalse(nombreIndex.isListo());
+
+        reset(eventoRepository);
+        construir(evento(1L, "Concierto de Rock"));
+
+        assertTrue(nombreIndex.isListo());
+        assertEquals(List.of(), buscar("jazz"));
+    }
+
+    /**
+     * Si llegan más cambios de los que se pueden guardar durante la construcción, se
+     * descartan y el índice se vuelve a construir desde la base de datos.
+     */
+    @Test
+    void testConstruirConDemasiadosCambios() {
+        when(eventoRepository.streamDtos())
+                .thenAnswer(invocation -> {
+                    for (long id = 1; id <= IndiceEventos.MAX_PENDIENTES + 1; id++) {
+                        nombreIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, id, evento(id, "Rock " + id)));
+                    }
+                    return Stream.of(evento(1L, "Teatro"));
+                })
+                .thenAnswer(invocation -> Stream.of(evento(1L, "Concierto de Rock")));
+
+        nombreIndex.construir();
+
+        assertTrue(nombreIndex.isListo());
+        verify(eventoRepository, times(2)).streamDtos();
+        assertEquals(List.of(1L), buscar("rock"));
+    }
+
+    /**
+     * Con el índice listo el servicio responde desde memoria, sin consultar la base de datos.
+     */
+    @Test
+    void testFindByNameUsesIndex_Service() {
+        when(mockNombreIndex.isListo()).thenReturn(true);
+        when(mockNombreIndex.buscar("rock")).thenReturn(List.of(evento(1, "Rock"), evento(2, "Rock 2")));
+
+        List<EventoDto> eventos = eventoService.findByName("rock");
+
+        assertEquals(2, eventos.size());
+        verifyNoInteractions(eventoRepository);
+    }
+
+    /**
+     * Mientras el índice no está listo la búsqueda va a la base de datos.
+     */
+    @Test
+    void testFindByNameWithoutIndex_Service() {
+        when(mockNombreIndex.isListo()).thenReturn(false);
+        when(eventoRepository.findByNombre("rock")).thenReturn(List.of(evento(1, "Rock")));
+
+        assertEquals(1, eventoService.findByName("rock").size());
+        verify(mockNombreIndex, never()).buscar(anyString());
+    }
+}
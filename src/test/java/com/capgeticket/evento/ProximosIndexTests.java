@@ -0,0 +1,154 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.index.ProximosIndex;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProximosIndexTests {
+
+    private static final LocalDate HOY = LocalDate.of(2024, 6, 1);
+
+    // Mocks para el índice
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ProximosIndex proximosIndex;
+
+    // Mocks para el servicio
+    @Mock
+    private ProximosIndex mockProximosIndex;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(proximosIndex, "enabled", true);
+        ReflectionTestUtils.setField(eventoService, "proximosIndex", mockProximosIndex);
+    }
+
+    private EventoDto evento(long id, String localidad, LocalDate fecha) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setLocalidad(localidad);
+        evento.setFechaEvento(fecha);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    /**
+     * Se devuelven los eventos del rango en orden de fecha y de id, en todas las localidades o en una.
+     */
+    @Test
+    void testBuscar() {
+        when(eventoRepository.streamDtosMostrar()).thenReturn(Stream.of(
+                evento(1, "Madrid", HOY.plusDays(2)),
+                evento(2, "Sevilla", HOY),
+                evento(3, "Madrid", HOY),
+                evento(4, "Madríd", HOY.plusDays(1)),
+                evento(5, "Madrid", HOY.minusDays(1)),
+                evento(6, "Madrid", HOY.plusDays(3))));
+        proximosIndex.construir();
+
+        assertTrue(proximosIndex.isListo());
+        assertEquals(List.of(2L, 3L, 4L, 1L), proximosIndex.buscar(HOY, HOY.plusDays(2), null, 10));
+        assertEquals(List.of(2L, 3L), proximosIndex.buscar(HOY, HOY.plusDays(2), null, 2));
+        assertEquals(List.of(3L, 4L, 1L), proximosIndex.buscar(HOY, HOY.plusDays(2), "MADRID", 10));
+        assertEquals(List.of(), proximosIndex.buscar(HOY, HOY.plusDays(2), "Bilbao", 10));
+    }
+
+    /**
+     * Los eventos creados aparecen, los editados cambian de fecha y localidad y los ocultos o eliminados desaparecen.
+     */
+    @Test
+    void testOnEventoCambiado() {
+        when(eventoRepository.streamDtosMostrar()).thenReturn(Stream.of(
+                evento(1, "Madrid", HOY),
+                evento(2, "Madrid", HOY.plusDays(1))));
+        proximosIndex.construir();
+
+        proximosIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 1L,
+                evento(1, "Bilbao", HOY.plusDays(2))));
+        EventoDto oculto = evento(2, "Madrid", HOY.plusDays(1));
+        oculto.setMostrar(false);
+        proximosIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 2L, oculto));
+        proximosIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, 3L,
+                evento(3, "Madrid", HOY)));
+
+        assertEquals(List.of(3L, 1L), proximosIndex.buscar(HOY, HOY.plusDays(5), null, 10));
+        assertEquals(List.of(3L), proximosIndex.buscar(HOY, HOY.plusDays(5), "Madrid", 10));
+
+        proximosIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.ELIMINADO, 1L, null));
+        assertEquals(List.of(), proximosIndex.buscar(HOY, HOY.plusDays(5), "Bilbao", 10));
+    }
+
+    /**
+     * Con el índice listo el servicio carga los eventos por id y conserva el orden por fecha;
+     * si no, consulta el rango en la base de datos. Los rangos invertidos se rechazan.
+     */
+    @Test
+    void testFindUpcoming_Service() {
+        when(mockProximosIndex.isListo()).thenReturn(true);
+        when(mockProximosIndex.buscar(HOY, HOY.plusDays(2), null, 10)).thenReturn(List.of(2L, 1L));
+        when(eventoRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                evento(1, "Madrid", HOY.plusDays(2)), evento(2, "Madrid", HOY)));
+
+        assertEquals(List.of(2L, 1L), eventoService.findUpcoming(HOY, HOY.plusDays(2), null, 10).stream()
+                .map(EventoDto::getId).toList());
+
+        when(mockProximosIndex.isListo()).thenReturn(false);
+        when(eventoRepository.findProximosEnLocalidad(eq("madrid"), eq(HOY), any(), any(Limit.class)))
+                .thenReturn(List.of(evento(3, "Madrid", HOY)));
+        assertEquals(1, eventoService.findUpcoming(HOY, null, "Madrid", 10).size());
+
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findUpcoming(HOY, HOY.minusDays(1), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.findUpcoming(HOY, null, null, 0));
+    }
+
+    /**
+     * El controlador devuelve los eventos del servicio.
+     */
+    @Test
+    void testFindUpcoming_Controller() {
+        when(mockEventoService.findUpcoming(HOY, null, "Madrid", 50)).thenReturn(List.of(evento(1, "Madrid", HOY)));
+
+        ResponseEntity<List<EventoDto>> respuesta = eventoController.findUpcoming(HOY, null, "Madrid", 50);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(1L, respuesta.getBody().getFirst().getId());
+    }
+}
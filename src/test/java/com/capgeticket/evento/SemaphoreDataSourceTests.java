@@ -0,0 +1,66 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.config.SemaphoreDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SemaphoreDataSourceTests {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private SemaphoreDataSource semaphoreDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        semaphoreDataSource = new SemaphoreDataSource(dataSource, 2, Duration.ofMillis(50));
+    }
+
+    /**
+     * Cada conexión ocupa un permiso hasta que se cierra, aunque se cierre varias veces.
+     */
+    @Test
+    void testPermisoDevueltoAlCerrar() throws SQLException {
+        Connection primera = semaphoreDataSource.getConnection();
+        Connection segunda = semaphoreDataSource.getConnection();
+        assertEquals(0, semaphoreDataSource.getPermisosDisponibles());
+
+        assertThrows(SQLTransientConnectionException.class, () -> semaphoreDataSource.getConnection());
+
+        primera.close();
+        primera.close();
+        assertEquals(1, semaphoreDataSource.getPermisosDisponibles());
+        verify(connection, times(2)).close();
+
+        segunda.close();
+        assertEquals(2, semaphoreDataSource.getPermisosDisponibles());
+    }
+
+    /**
+     * Si el pool no puede dar la conexión el permiso se devuelve igualmente.
+     */
+    @Test
+    void testPermisoDevueltoSiFallaElPool() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Pool agotado"));
+
+        assertThrows(SQLException.class, () -> semaphoreDataSource.getConnection());
+
+        assertEquals(2, semaphoreDataSource.getPermisosDisponibles());
+    }
+}
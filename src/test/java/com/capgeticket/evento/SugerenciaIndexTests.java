@@ -0,0 +1,155 @@
+package com.capgeticket.evento;
+
+import com.capgeticket.evento.controller.EventoController;
+import com.capgeticket.evento.dto.EventoDto;
+import com.capgeticket.evento.dto.EventoNombreDto;
+import com.capgeticket.evento.index.SugerenciaIndex;
+import com.capgeticket.evento.repository.EventoRepository;
+import com.capgeticket.evento.service.EventoCambiadoEvent;
+import com.capgeticket.evento.service.EventoService;
+import com.capgeticket.evento.service.EventoServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SugerenciaIndexTests {
+
+    private static final LocalDate HOY = LocalDate.of(2024, 6, 1);
+
+    // Mocks para el índice
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SugerenciaIndex sugerenciaIndex;
+
+    // Mocks para el servicio
+    @Mock
+    private SugerenciaIndex mockSugerenciaIndex;
+
+    @InjectMocks
+    private EventoServiceImpl eventoService;
+
+    // Mocks para el controlador
+    @Mock
+    private EventoService mockEventoService;
+
+    @InjectMocks
+    private EventoController eventoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(sugerenciaIndex, "enabled", true);
+        ReflectionTestUtils.setField(eventoService, "sugerenciaIndex", mockSugerenciaIndex);
+    }
+
+    private EventoDto evento(long id, String nombre, LocalDate fecha) {
+        EventoDto evento = new EventoDto();
+        evento.setId(id);
+        evento.setNombre(nombre);
+        evento.setFechaEvento(fecha);
+        evento.setMostrar(true);
+        return evento;
+    }
+
+    private List<Long> ids(List<EventoNombreDto> sugerencias) {
+        return sugerencias.stream().map(EventoNombreDto::getId).toList();
+    }
+
+    /**
+     * Se sugieren los eventos con alguna palabra que empieza por el prefijo, sin tildes ni
+     * mayúsculas, primero los próximos por fecha y después los pasados del más reciente al más antiguo.
+     */
+    @Test
+    void testSugerir() {
+        when(eventoRepository.streamDtosMostrar()).thenReturn(Stream.of(
+                evento(1, "Concierto de Música Clásica", HOY.plusDays(30)),
+                evento(2, "Musical El Rey León", HOY.plusDays(2)),
+                evento(3, "Festival de música", HOY.minusDays(10)),
+                evento(4, "Museo nocturno", HOY.minusDays(1)),
+                evento(5, "Teatro", HOY.plusDays(1))));
+        sugerenciaIndex.construir();
+
+        assertTrue(sugerenciaIndex.isListo());
+        assertEquals(List.of(2L, 1L, 3L), ids(sugerenciaIndex.sugerir("MÚSIC", 10, HOY)));
+        assertEquals(List.of(2L, 1L, 4L, 3L), ids(sugerenciaIndex.sugerir("mus", 10, HOY)));
+        assertEquals(List.of(2L, 1L), ids(sugerenciaIndex.sugerir("mus", 2, HOY)));
+        assertEquals(List.of(1L, 3L), ids(sugerenciaIndex.sugerir("de musica", 10, HOY)));
+        assertEquals(List.of(), ids(sugerenciaIndex.sugerir("usica", 10, HOY)));
+        assertEquals("Musical El Rey León", sugerenciaIndex.sugerir("leon", 1, HOY).getFirst().getNombre());
+    }
+
+    /**
+     * Los eventos creados aparecen, los editados cambian de clave y los ocultos o eliminados desaparecen.
+     */
+    @Test
+    void testOnEventoCambiado() {
+        when(eventoRepository.streamDtosMostrar()).thenReturn(Stream.of(
+                evento(1, "Concierto de Rock", HOY.plusDays(5)),
+                evento(2, "Rock en el parque", HOY.plusDays(6))));
+        sugerenciaIndex.construir();
+
+        sugerenciaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.CREADO, 3L,
+                evento(3, "Rockabilly", HOY.plusDays(1))));
+        sugerenciaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 1L,
+                evento(1, "Concierto de Jazz", HOY.plusDays(5))));
+        EventoDto oculto = evento(2, "Rock en el parque", HOY.plusDays(6));
+        oculto.setMostrar(false);
+        sugerenciaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.EDITADO, 2L, oculto));
+
+        assertEquals(List.of(3L), ids(sugerenciaIndex.sugerir("rock", 10, HOY)));
+        assertEquals(List.of(1L), ids(sugerenciaIndex.sugerir("jazz", 10, HOY)));
+
+        sugerenciaIndex.onEventoCambiado(new EventoCambiadoEvent(EventoCambiadoEvent.Tipo.ELIMINADO, 3L, null));
+        assertEquals(List.of(), ids(sugerenciaIndex.sugerir("rock", 10, HOY)));
+    }
+
+    /**
+     * Mientras el índice no está listo el servicio consulta la base de datos y los
+     * parámetros fuera de rango se rechazan.
+     */
+    @Test
+    void testSuggest_Service() {
+        when(mockSugerenciaIndex.isListo()).thenReturn(false);
+        when(eventoRepository.findSugerencias(eq("conc"), any())).thenReturn(List.of(new EventoNombreDto(1L, "Concierto")));
+
+        assertEquals(1, eventoService.suggest(" conc", 5).size());
+        verify(mockSugerenciaIndex, never()).sugerir(anyString(), anyInt(), any());
+
+        assertThrows(IllegalArgumentException.class, () -> eventoService.suggest(" ", 5));
+        assertThrows(IllegalArgumentException.class, () -> eventoService.suggest("conc", EventoServiceImpl.MAX_SUGGEST_SIZE + 1));
+    }
+
+    /**
+     * El controlador devuelve las sugerencias del servicio.
+     */
+    @Test
+    void testSuggest_Controller() {
+        when(mockEventoService.suggest("conc", 10)).thenReturn(List.of(new EventoNombreDto(1L, "Concierto")));
+
+        ResponseEntity<List<EventoNombreDto>> respuesta = eventoController.suggest("conc", 10);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals("Concierto", respuesta.getBody().getFirst().getNombre());
+    }
+}